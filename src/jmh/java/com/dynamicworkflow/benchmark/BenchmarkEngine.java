@@ -0,0 +1,157 @@
+package com.dynamicworkflow.benchmark;
+
+import com.dynamicworkflow.config.EngineIndexPlugin;
+import com.dynamicworkflow.delegate.CollectApplicantDataDelegate;
+import com.dynamicworkflow.metrics.WorkflowMetrics;
+import com.dynamicworkflow.repository.ApplicationOutcomeRepository;
+import com.dynamicworkflow.repository.ApplicationRepository;
+import com.dynamicworkflow.repository.InMemoryApplicationRepository;
+import com.dynamicworkflow.service.ActiveTaskCache;
+import com.dynamicworkflow.service.ApplicantVariables;
+import com.dynamicworkflow.service.ApplicationJsonWriter;
+import com.dynamicworkflow.service.ApplicationStatusProjector;
+import com.dynamicworkflow.service.JobApplicationService;
+import com.dynamicworkflow.service.MessageTemplateService;
+import com.dynamicworkflow.service.ValidationService;
+import com.dynamicworkflow.service.WorkflowDefinitionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.impl.bpmn.behavior.UserTaskActivityBehavior;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.task.TaskDefinition;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Embedded H2 process engine (in-memory unless given another URL) on a HikariCP
+ * pool, with the application services wired by hand, so benchmarks measure the
+ * service code and the engine without Spring context startup.
+ */
+final class BenchmarkEngine {
+
+    final ProcessEngine processEngine;
+    final WorkflowDefinitionService workflowDefinitionService;
+    final JobApplicationService jobApplicationService;
+    final ApplicationJsonWriter applicationJsonWriter;
+    final ApplicationStatusProjector projector;
+
+    BenchmarkEngine() {
+        this("jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    BenchmarkEngine(String jdbcUrl) {
+        this(pooledDataSource(jdbcUrl));
+    }
+
+    BenchmarkEngine(DataSource dataSource) {
+        ApplicationRepository applicationRepository = new InMemoryApplicationRepository(event -> { });
+        WorkflowMetrics workflowMetrics = new WorkflowMetrics(new SimpleMeterRegistry(), applicationRepository);
+
+        workflowDefinitionService = loadWorkflowDefinitionService();
+        ApplicantVariables applicantVariables = new ApplicantVariables(new ObjectMapper(), workflowDefinitionService, true);
+
+        CollectApplicantDataDelegate collectApplicantDataDelegate = new CollectApplicantDataDelegate();
+        ReflectionTestUtils.setField(collectApplicantDataDelegate, "workflowMetrics", workflowMetrics);
+        ReflectionTestUtils.setField(collectApplicantDataDelegate, "applicantVariables", applicantVariables);
+        ReflectionTestUtils.setField(collectApplicantDataDelegate, "messageTemplateService", new MessageTemplateService(
+            new DefaultResourceLoader(), workflowDefinitionService, "classpath:message-templates/", Duration.ofSeconds(5)));
+        Map<Object, Object> beans = new HashMap<>();
+        beans.put("collectApplicantDataDelegate", collectApplicantDataDelegate);
+
+        ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+            .createStandaloneInMemProcessEngineConfiguration()
+            .setDataSource(dataSource)
+            .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE)
+            .setHistory(ProcessEngineConfiguration.HISTORY_AUDIT)
+            .setJobExecutorActivate(false);
+        configuration.setHistoryTimeToLive("P30D");
+        configuration.setJdbcBatchProcessing(true);
+        configuration.getProcessEnginePlugins().add(new EngineIndexPlugin());
+        // No Spring eventing here, so the task cache is fed by plain task listeners
+        ActiveTaskCache activeTaskCache = new ActiveTaskCache();
+        // Mutable: the engine adds its own parse listeners to this list while it is built
+        List<BpmnParseListener> parseListeners = new ArrayList<>();
+        parseListeners.add(new AbstractBpmnParseListener() {
+            @Override
+            public void parseUserTask(Element userTaskElement, ScopeImpl scope, ActivityImpl activity) {
+                TaskDefinition taskDefinition = ((UserTaskActivityBehavior) activity.getActivityBehavior()).getTaskDefinition();
+                TaskListener listener = activeTaskCache::onTaskEvent;
+                taskDefinition.addTaskListener(TaskListener.EVENTNAME_CREATE, listener);
+                taskDefinition.addTaskListener(TaskListener.EVENTNAME_COMPLETE, listener);
+                taskDefinition.addTaskListener(TaskListener.EVENTNAME_DELETE, listener);
+            }
+        });
+        configuration.setCustomPostBPMNParseListeners(parseListeners);
+        configuration.setBeans(beans);
+        configuration.setJavaSerializationFormatEnabled(true);
+        processEngine = configuration.buildProcessEngine();
+        processEngine.getRepositoryService().createDeployment()
+            .addClasspathResource("processes/job-recruitment-workflow.bpmn")
+            .deploy();
+
+        jobApplicationService = new JobApplicationService(processEngine, workflowDefinitionService,
+            new ValidationService(), applicationRepository, workflowMetrics, applicantVariables, activeTaskCache);
+        applicationJsonWriter = new ApplicationJsonWriter(new ObjectMapper(), applicationRepository);
+        ApplicationOutcomeRepository outcomeRepository = new ApplicationOutcomeRepository(
+            new JdbcTemplate(configuration.getDataSource()), new ObjectMapper());
+        outcomeRepository.initialize();
+        projector = new ApplicationStatusProjector(jobApplicationService, outcomeRepository,
+            workflowDefinitionService, processEngine);
+    }
+
+    // Same sizing as the persistent profile in application.yml
+    static HikariDataSource pooledDataSource(String jdbcUrl) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername("sa");
+        config.setMaximumPoolSize(24);
+        config.setMinimumIdle(8);
+        config.setConnectionTimeout(10000);
+        return new HikariDataSource(config);
+    }
+
+    static WorkflowDefinitionService loadWorkflowDefinitionService() {
+        WorkflowDefinitionService service = new WorkflowDefinitionService(new DefaultResourceLoader(), new ObjectMapper());
+        ReflectionTestUtils.setField(service, "workflowJsonPath", "classpath:workflow-definition.json");
+        service.loadWorkflowDefinition();
+        return service;
+    }
+
+    /**
+     * Start an application and submit every applicant step, leaving it at HR review.
+     */
+    String submitCompleteApplication() {
+        String applicationId = jobApplicationService.startApplication().getApplicationId();
+        for (String stepId : new String[] {"personal-info", "job-preferences", "experience-education"}) {
+            jobApplicationService.submitStep(applicationId, ValidationBenchmark.sampleStepData(stepId));
+        }
+        return applicationId;
+    }
+
+    void close() {
+        processEngine.close();
+        DataSource dataSource = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getDataSource();
+        if (dataSource instanceof HikariDataSource) {
+            ((HikariDataSource) dataSource).close();
+        }
+    }
+}
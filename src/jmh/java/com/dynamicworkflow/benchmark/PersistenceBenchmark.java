@@ -0,0 +1,72 @@
+package com.dynamicworkflow.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Full applicant submissions from concurrent threads on the in-memory H2
+ * database versus H2 file mode with the settings of the {@code persistent}
+ * profile (HikariCP sizing, statement cache, JDBC batching, engine indexes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @Param({"memory", "file"})
+    public String database;
+
+    private BenchmarkEngine engine;
+    private Path dataDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        if ("file".equals(database)) {
+            dataDirectory = Files.createTempDirectory("benchmark-db");
+            engine = new BenchmarkEngine("jdbc:h2:file:" + dataDirectory.resolve("camunda-db")
+                + ";QUERY_CACHE_SIZE=64");
+        } else {
+            engine = new BenchmarkEngine("jdbc:h2:mem:benchmark-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        engine.close();
+        if (dataDirectory != null) {
+            try (Stream<Path> files = Files.walk(dataDirectory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    // startApplication plus the three submitStep calls that reach HR review
+    @Benchmark
+    public String submitCompleteApplication() {
+        return engine.submitCompleteApplication();
+    }
+}
@@ -0,0 +1,52 @@
+package com.dynamicworkflow.benchmark;
+
+import com.dynamicworkflow.dto.ApplicationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * startApplication and a full applicant submission against an embedded
+ * in-memory H2 process engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StartApplicationBenchmark {
+
+    private BenchmarkEngine engine;
+
+    @Setup
+    public void setUp() {
+        engine = new BenchmarkEngine();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public ApplicationResponse startApplication() {
+        return engine.jobApplicationService.startApplication();
+    }
+
+    // startApplication plus the three submitStep calls that reach HR review
+    @Benchmark
+    public String submitCompleteApplication() {
+        return engine.submitCompleteApplication();
+    }
+}
@@ -0,0 +1,67 @@
+package com.dynamicworkflow.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The status sync path by instance count: streaming the snapshots that serve
+ * GET /all, and the startup rebuild from the outcome table and open tasks that
+ * replaced the per-request syncApplicationStatusWithCamunda scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatusProjectionBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int instanceCount;
+
+    private BenchmarkEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new BenchmarkEngine();
+        // Half of the applications are submitted for HR review, the rest stay at the first step
+        for (int i = 0; i < instanceCount; i++) {
+            if (i % 2 == 0) {
+                engine.submitCompleteApplication();
+            } else {
+                engine.jobApplicationService.startApplication();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public void getAllApplications() throws IOException {
+        engine.applicationJsonWriter.writeAll(OutputStream.nullOutputStream(), Collections.<String>emptySet());
+    }
+
+    @Benchmark
+    public void rebuildFromOutcomes() {
+        engine.projector.rebuildFromOutcomes();
+    }
+}
@@ -0,0 +1,62 @@
+package com.dynamicworkflow.benchmark;
+
+import com.dynamicworkflow.model.WorkflowStep;
+import com.dynamicworkflow.service.CompiledWorkflow;
+import com.dynamicworkflow.service.WorkflowDefinitionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WorkflowDefinitionService step lookups as used by submitStep.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepLookupBenchmark {
+
+    @Param({"personal-info", "experience-education"})
+    public String stepId;
+
+    private WorkflowDefinitionService workflowDefinitionService;
+
+    @Setup
+    public void setUp() {
+        workflowDefinitionService = BenchmarkEngine.loadWorkflowDefinitionService();
+    }
+
+    @Benchmark
+    public Optional<WorkflowStep> getStepById() {
+        return workflowDefinitionService.getStepById(stepId);
+    }
+
+    @Benchmark
+    public Optional<WorkflowStep> getNextStep() {
+        return workflowDefinitionService.getNextStep(stepId);
+    }
+
+    @Benchmark
+    public boolean isLastStep() {
+        return workflowDefinitionService.isLastStep(stepId);
+    }
+
+    // The single node lookup submitStep performs per request
+    @Benchmark
+    public CompiledWorkflow.StepNode getStepNode() {
+        return workflowDefinitionService.getStepNode(stepId);
+    }
+}
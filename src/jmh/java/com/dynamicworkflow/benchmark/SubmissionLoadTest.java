@@ -0,0 +1,170 @@
+package com.dynamicworkflow.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test against a running server: {@code clients} concurrent
+ * applicants each start an application and submit every step, repeatedly.
+ *
+ * Run it once against the server in platform-thread mode and once with
+ * {@code spring.threads.virtual.enabled=true}, with the same -Xmx, and compare
+ * throughput and latency at equal heap. Server heap and live threads are
+ * sampled from Actuator while the test runs.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.dynamicworkflow.benchmark.SubmissionLoadTest \
+ *     -Dexec.args="http://localhost:8082 1000 60"
+ * </pre>
+ */
+public final class SubmissionLoadTest {
+
+    private static final String[] STEPS = {"personal-info", "job-preferences", "experience-education"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    private final ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger completedApplications = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private final AtomicLong peakLiveThreads = new AtomicLong();
+
+    private SubmissionLoadTest(String baseUrl, ExecutorService clientExecutor) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+            .executor(clientExecutor)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8082";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+        // Virtual threads on the client side so the driver itself is never the bottleneck
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            new SubmissionLoadTest(baseUrl, clientExecutor).run(clientExecutor, clients, durationSeconds);
+        }
+    }
+
+    private void run(ExecutorService clientExecutor, int clients, int durationSeconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(this::sampleServer, 0, 1, TimeUnit.SECONDS);
+
+        CountDownLatch done = new CountDownLatch(clients);
+        long started = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            clientExecutor.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        submitApplication();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        sampler.shutdownNow();
+
+        report(clients, elapsedSeconds);
+    }
+
+    private void submitApplication() {
+        try {
+            JsonNode started = post("/api/job-applications/start", "");
+            String applicationId = started.path("applicationId").asText(null);
+            if (applicationId == null) {
+                errors.incrementAndGet();
+                return;
+            }
+            for (String stepId : STEPS) {
+                String body = objectMapper.writeValueAsString(ValidationBenchmark.sampleStepData(stepId));
+                post("/api/job-applications/" + applicationId + "/step", body);
+            }
+            completedApplications.incrementAndGet();
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private JsonNode post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        latenciesMicros.add((System.nanoTime() - start) / 1_000);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " for " + path);
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private void sampleServer() {
+        peakHeapBytes.accumulateAndGet(metric("jvm.memory.used?tag=area:heap"), Math::max);
+        peakLiveThreads.accumulateAndGet(metric("jvm.threads.live"), Math::max);
+    }
+
+    private long metric(String name) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+            JsonNode metric = objectMapper.readTree(
+                httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            return metric.path("measurements").path(0).path("value").asLong();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private void report(int clients, double elapsedSeconds) {
+        List<Long> latencies = new ArrayList<>(latenciesMicros);
+        Collections.sort(latencies);
+
+        System.out.printf("clients=%d duration=%.1fs%n", clients, elapsedSeconds);
+        System.out.printf("applications=%d (%.1f/s) requests=%d (%.1f/s) errors=%d%n",
+            completedApplications.get(), completedApplications.get() / elapsedSeconds,
+            latencies.size(), latencies.size() / elapsedSeconds, errors.get());
+        System.out.printf("latency ms: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+            percentile(latencies, 0.50), percentile(latencies, 0.95),
+            percentile(latencies, 0.99), percentile(latencies, 1.0));
+        System.out.printf("server: peak heap=%d MiB, peak live platform threads=%d%n",
+            peakHeapBytes.get() / (1024 * 1024), peakLiveThreads.get());
+    }
+
+    private static double percentile(List<Long> sortedMicros, double percentile) {
+        if (sortedMicros.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedMicros.size()) - 1;
+        return sortedMicros.get(Math.max(0, index)) / 1000.0;
+    }
+}
@@ -0,0 +1,103 @@
+package com.dynamicworkflow.benchmark;
+
+import com.dynamicworkflow.model.WorkflowDefinition;
+import com.dynamicworkflow.model.WorkflowStep;
+import com.dynamicworkflow.service.CompiledWorkflow;
+import com.dynamicworkflow.service.ValidationPlan;
+import com.dynamicworkflow.service.ValidationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of step validation: the interpretive baseline that re-parsed
+ * bounds and recompiled regexes per call, against the compiled plan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"personal-info", "job-preferences", "experience-education"})
+    public String stepId;
+
+    private final ValidationService validationService = new ValidationService();
+
+    private WorkflowStep step;
+    private ValidationPlan plan;
+    private Map<String, Object> stepData;
+
+    @Setup
+    public void setUp() throws IOException {
+        CompiledWorkflow workflow = CompiledWorkflow.compile(loadDefinition());
+        step = workflow.getStep(stepId).getStep();
+        plan = workflow.getStep(stepId).getValidationPlan();
+        stepData = sampleStepData(stepId);
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyValidation() {
+        LegacyValidation.validateStepData(step, stepData);
+        return stepData;
+    }
+
+    @Benchmark
+    public Map<String, Object> compiledPlan() {
+        validationService.validateStepData(plan, stepData);
+        return stepData;
+    }
+
+    static WorkflowDefinition loadDefinition() throws IOException {
+        try (InputStream in = ValidationBenchmark.class.getResourceAsStream("/workflow-definition.json")) {
+            return new ObjectMapper().readValue(in, WorkflowDefinition.class);
+        }
+    }
+
+    // Valid submissions for each step of workflow-definition.json
+    static Map<String, Object> sampleStepData(String stepId) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("currentStep", stepId);
+        switch (stepId) {
+            case "personal-info":
+                data.put("firstName", "Asha");
+                data.put("lastName", "Raman");
+                data.put("email", "asha.raman@example.com");
+                data.put("mobileNumber", "9876543210");
+                data.put("dateOfBirth", "1994-05-17");
+                data.put("gender", "female");
+                break;
+            case "job-preferences":
+                data.put("position", "software-engineer");
+                data.put("expectedSalaryCTC", 12);
+                data.put("noticePeriod", "1-month");
+                break;
+            case "experience-education":
+                data.put("totalExperience", 4);
+                data.put("highestEducation", "btech-be");
+                data.put("skills", Arrays.asList("java", "spring-boot"));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown step: " + stepId);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,41 @@
+package com.dynamicworkflow.config;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Marks every BPMN service task as {@code asyncBefore}, so the user task
+ * completion that reaches it commits and returns immediately and the
+ * delegate runs on the job executor.
+ */
+public class AsyncServiceTaskPlugin extends AbstractProcessEnginePlugin {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncServiceTaskPlugin.class);
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        List<BpmnParseListener> listeners = configuration.getCustomPreBPMNParseListeners();
+        if (listeners == null) {
+            listeners = new ArrayList<>();
+            configuration.setCustomPreBPMNParseListeners(listeners);
+        }
+        listeners.add(new AbstractBpmnParseListener() {
+            @Override
+            public void parseServiceTask(Element serviceTaskElement, ScopeImpl scope, ActivityImpl activity) {
+                activity.setAsyncBefore(true);
+                logger.debug("Service task {} runs as an asynchronous continuation", activity.getId());
+            }
+        });
+        logger.info("Asynchronous continuations enabled for BPMN service tasks");
+    }
+}
@@ -1,23 +1,61 @@
 package com.dynamicworkflow.config;
 
-import org.camunda.bpm.engine.ProcessEngine;
-import org.camunda.bpm.engine.ProcessEngineConfiguration;
-import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import javax.sql.DataSource;
+import java.util.concurrent.ThreadPoolExecutor;
 
+/**
+ * Engine customisation on top of the Camunda Spring Boot starter. Database,
+ * history and job executor settings (pool size, lock time, acquisition batch)
+ * come from {@code camunda.bpm.*} in application.yml; anything the starter
+ * has no property for is contributed here as a {@link ProcessEnginePlugin}.
+ */
 @Configuration
 public class CamundaConfig {
 
+    /**
+     * Opt-in: run service tasks as asynchronous continuations on the job executor.
+     */
     @Bean
-    public ProcessEngineConfiguration processEngineConfiguration(DataSource dataSource) {
-        StandaloneProcessEngineConfiguration config = new StandaloneProcessEngineConfiguration();
-        config.setDataSource(dataSource);
-        config.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
-        config.setJobExecutorActivate(false);
-        config.setHistory(ProcessEngineConfiguration.HISTORY_FULL);
-        return config;
+    @ConditionalOnProperty(name = "workflow.async.service-tasks", havingValue = "true")
+    public ProcessEnginePlugin asyncServiceTaskPlugin() {
+        return new AsyncServiceTaskPlugin();
     }
-}
\ No newline at end of file
+
+    /**
+     * Extra engine indexes for business key and per-instance variable lookups.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "workflow.database.engine-indexes", havingValue = "true", matchIfMissing = true)
+    public ProcessEnginePlugin engineIndexPlugin() {
+        return new EngineIndexPlugin();
+    }
+
+    /**
+     * Virtual-thread mode (spring.threads.virtual.enabled=true): job executor work, including
+     * the service task delegates, runs on virtual threads instead of the fixed starter pool.
+     * At most {@code concurrencyLimit} jobs run at once, with up to {@code queueCapacity} more
+     * waiting; beyond that the executor rejects instead of blocking the acquisition thread, and
+     * the engine's rejected-jobs handler unlocks the jobs for a later acquisition cycle.
+     */
+    @Bean(name = "camundaTaskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskExecutor camundaTaskExecutor(@Value("${workflow.job-executor.virtual-concurrency:64}") int concurrencyLimit,
+                                            @Value("${camunda.bpm.job-execution.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadFactory(Thread.ofVirtual().name("camunda-job-", 0).factory());
+        executor.setCorePoolSize(concurrencyLimit);
+        executor.setMaxPoolSize(concurrencyLimit);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
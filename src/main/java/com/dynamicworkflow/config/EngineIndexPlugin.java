@@ -0,0 +1,59 @@
+package com.dynamicworkflow.config;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds indexes for this application's query patterns on top of the engine
+ * schema: process instances by business key, and variables by process
+ * instance and name (the decision variables and the applicant payload).
+ *
+ * Statements use {@code CREATE INDEX IF NOT EXISTS} (H2, PostgreSQL); on a
+ * database without that syntax each failure is logged and the index skipped,
+ * so the DBA can create it by hand.
+ */
+public class EngineIndexPlugin extends AbstractProcessEnginePlugin {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngineIndexPlugin.class);
+
+    static final String[] INDEXES = {
+        "CREATE INDEX IF NOT EXISTS WF_IDX_RU_EXEC_BUSKEY_DEF ON ACT_RU_EXECUTION (BUSINESS_KEY_, PROC_DEF_ID_)",
+        "CREATE INDEX IF NOT EXISTS WF_IDX_HI_PROCINST_BUSKEY ON ACT_HI_PROCINST (BUSINESS_KEY_)",
+        "CREATE INDEX IF NOT EXISTS WF_IDX_RU_VAR_PROCINST_NAME ON ACT_RU_VARIABLE (PROC_INST_ID_, NAME_)",
+        "CREATE INDEX IF NOT EXISTS WF_IDX_HI_VAR_PROCINST_NAME ON ACT_HI_VARINST (PROC_INST_ID_, NAME_)"
+    };
+
+    private ProcessEngineConfigurationImpl configuration;
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public void postProcessEngineBuild(ProcessEngine processEngine) {
+        // The engine schema exists once the engine is built
+        int created = 0;
+        try (Connection connection = configuration.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String index : INDEXES) {
+                try {
+                    statement.execute(index);
+                    created++;
+                } catch (SQLException e) {
+                    logger.warn("Skipping engine index ({}): {}", e.getMessage(), index);
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to create engine indexes: {}", e.getMessage());
+        }
+        logger.info("Engine indexes in place: {} of {}", created, INDEXES.length);
+    }
+}
@@ -0,0 +1,53 @@
+package com.dynamicworkflow.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites local script and stylesheet links in static HTML pages to their
+ * content-hashed URLs under {@code assetPrefix}, e.g. {@code /js/app.js} to
+ * {@code /assets/js/app-<md5>.js}. Hand-written {@code ?v=} cache busters are
+ * dropped. Links that cannot be resolved, and external links, are left as they are.
+ */
+public class HtmlLinkResourceTransformer extends ResourceTransformerSupport {
+
+    private static final Pattern LINK = Pattern.compile("(src|href)=\"([^\"':?]+\\.(?:js|css))(?:\\?[^\"]*)?\"");
+
+    private final String assetPrefix;
+
+    public HtmlLinkResourceTransformer(String assetPrefix) {
+        this.assetPrefix = assetPrefix;
+    }
+
+    @Override
+    public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain chain)
+            throws IOException {
+        resource = chain.transform(request, resource);
+        String filename = resource.getFilename();
+        if (filename == null || !filename.endsWith(".html")) {
+            return resource;
+        }
+
+        String html = resource.getContentAsString(StandardCharsets.UTF_8);
+        Matcher matcher = LINK.matcher(html);
+        StringBuilder transformed = new StringBuilder(html.length());
+        while (matcher.find()) {
+            // Pages are served from the root, so relative links are root-relative too
+            String path = matcher.group(2);
+            String versioned = resolveUrlPath(assetPrefix + (path.startsWith("/") ? path : "/" + path),
+                request, resource, chain);
+            String replacement = versioned != null ? matcher.group(1) + "=\"" + versioned + "\"" : matcher.group();
+            matcher.appendReplacement(transformed, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(transformed);
+        return new TransformedResource(resource, transformed.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,14 +1,34 @@
 package com.dynamicworkflow.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // Content-hashed asset URLs under this prefix are cached long-term
+    static final String ASSET_PREFIX = "/assets";
+
+    @Value("${workflow.web.versioned-assets:false}")
+    private boolean versionedAssets;
+
+    @Value("${workflow.web.asset-cache-period:365d}")
+    private Duration assetCachePeriod;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        if (versionedAssets) {
+            addVersionedResourceHandlers(registry);
+            return;
+        }
+
         // Ensure static resources are served correctly
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/")
@@ -24,4 +44,24 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations("classpath:/static/js/")
                 .setCachePeriod(0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Production layout: pages link to /assets/...-{md5}.js|css, which never change
+     * and are cached immutably; the pages themselves are revalidated on each load
+     * (a 304 when unchanged), so a deployment is picked up immediately.
+     */
+    private void addVersionedResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(ASSET_PREFIX + "/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.maxAge(assetCachePeriod).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"))
+                .addTransformer(new CssLinkResourceTransformer());
+
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addTransformer(new HtmlLinkResourceTransformer(ASSET_PREFIX));
+    }
+}
@@ -0,0 +1,34 @@
+package com.dynamicworkflow.controller;
+
+import com.dynamicworkflow.service.DashboardEventService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/dashboard-events")
+@CrossOrigin(origins = "*")
+public class DashboardEventController {
+    
+    private final DashboardEventService dashboardEventService;
+    
+    public DashboardEventController(DashboardEventService dashboardEventService) {
+        this.dashboardEventService = dashboardEventService;
+    }
+    
+    /**
+     * GET /api/dashboard-events?group={candidateGroup}
+     * Server-sent event stream of application changes for one candidate group
+     * (hr, managers, teamlead, projectmanager or headhr)
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam String group) {
+        try {
+            return dashboardEventService.subscribe(group);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
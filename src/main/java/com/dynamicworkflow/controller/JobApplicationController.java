@@ -1,52 +1,92 @@
 package com.dynamicworkflow.controller;
 
+import com.dynamicworkflow.dto.ApplicationPage;
+import com.dynamicworkflow.dto.ApplicationQuery;
 import com.dynamicworkflow.dto.ApplicationResponse;
-import com.dynamicworkflow.model.WorkflowDefinition;
 import com.dynamicworkflow.model.WorkflowStep;
+import com.dynamicworkflow.service.ApplicationJsonWriter;
+import com.dynamicworkflow.service.ApplicationQueryIndex;
+import com.dynamicworkflow.service.BatchImportService;
+import com.dynamicworkflow.service.CompiledWorkflow;
 import com.dynamicworkflow.service.JobApplicationService;
+import com.dynamicworkflow.service.JsonDocument;
 import com.dynamicworkflow.service.ValidationService;
 import com.dynamicworkflow.service.WorkflowDefinitionService;
+import io.micrometer.core.annotation.Timed;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/job-applications")
 @CrossOrigin(origins = "*")
+@Timed(value = "workflow.api.requests", histogram = true)
 public class JobApplicationController {
     
     private static final Logger logger = LoggerFactory.getLogger(JobApplicationController.class);
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final JobApplicationService jobApplicationService;
     private final WorkflowDefinitionService workflowDefinitionService;
+    private final BatchImportService batchImportService;
+    private final ApplicationQueryIndex applicationQueryIndex;
+    private final ApplicationJsonWriter applicationJsonWriter;
     private final RuntimeService runtimeService;
     
     public JobApplicationController(JobApplicationService jobApplicationService,
                                  WorkflowDefinitionService workflowDefinitionService,
+                                 BatchImportService batchImportService,
+                                 ApplicationQueryIndex applicationQueryIndex,
+                                 ApplicationJsonWriter applicationJsonWriter,
                                  RuntimeService runtimeService) {
         this.jobApplicationService = jobApplicationService;
         this.workflowDefinitionService = workflowDefinitionService;
+        this.batchImportService = batchImportService;
+        this.applicationQueryIndex = applicationQueryIndex;
+        this.applicationJsonWriter = applicationJsonWriter;
         this.runtimeService = runtimeService;
     }
     
     /**
      * GET /api/job-applications/workflow-definition
-     * Get the complete workflow definition
+     * Get the complete workflow definition (the default workflow unless workflowId is given).
+     * Served from bytes rendered once per version, with an ETag for conditional requests.
      */
     @GetMapping("/workflow-definition")
-    public ResponseEntity<WorkflowDefinition> getWorkflowDefinition() {
+    public ResponseEntity<byte[]> getWorkflowDefinition(
+            @RequestParam(required = false) String workflowId,
+            HttpServletRequest request) {
         try {
-            WorkflowDefinition definition = workflowDefinitionService.getWorkflowDefinition();
-            return ResponseEntity.ok(definition);
+            JsonDocument document = workflowDefinitionService.getDefinitionDocument(workflowId);
+            if (document == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return serve(document, request);
         } catch (Exception e) {
             logger.error("Failed to get workflow definition", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -58,14 +98,13 @@ public class JobApplicationController {
      * Get specific step definition
      */
     @GetMapping("/steps/{stepId}")
-    public ResponseEntity<WorkflowStep> getStep(@PathVariable String stepId) {
+    public ResponseEntity<byte[]> getStep(@PathVariable String stepId, HttpServletRequest request) {
         try {
-            Optional<WorkflowStep> step = workflowDefinitionService.getStepById(stepId);
-            if (step.isPresent()) {
-                return ResponseEntity.ok(step.get());
-            } else {
+            JsonDocument document = workflowDefinitionService.getStepDocument(stepId);
+            if (document == null) {
                 return ResponseEntity.notFound().build();
             }
+            return serve(document, request);
         } catch (Exception e) {
             logger.error("Failed to get step: {}", stepId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -88,6 +127,25 @@ public class JobApplicationController {
         }
     }
     
+    /**
+     * POST /api/job-applications/start/{workflowId}
+     * Start a new job application on a specific workflow
+     */
+    @PostMapping("/start/{workflowId}")
+    public ResponseEntity<ApplicationResponse> startApplication(@PathVariable String workflowId) {
+        try {
+            ApplicationResponse response = jobApplicationService.startApplication(workflowId);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ApplicationResponse errorResponse = new ApplicationResponse(null, "ERROR", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Failed to start application on workflow {}", workflowId, e);
+            ApplicationResponse errorResponse = new ApplicationResponse(null, "ERROR", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
     /**
      * POST /api/job-applications/{applicationId}/step
      * Submit step data for an application
@@ -110,6 +168,34 @@ public class JobApplicationController {
         }
     }
     
+    /**
+     * POST /api/job-applications/batch
+     * Import complete applications from NDJSON (one application per line, all step fields)
+     * into the default workflow, or the one named by workflowId.
+     * Valid records are started straight into HR review; one result line is streamed back per line.
+     */
+    @PostMapping(value = "/batch", consumes = NDJSON, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> importApplications(@RequestParam(required = false) String workflowId,
+                                                                    HttpServletRequest request) throws IOException {
+        CompiledWorkflow workflow;
+        try {
+            workflow = batchImportService.resolveWorkflow(workflowId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        
+        InputStream records = request.getInputStream();
+        StreamingResponseBody body = out -> {
+            try {
+                batchImportService.importApplications(workflow, records, out);
+            } catch (IOException e) {
+                logger.error("Batch import aborted", e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().body(body);
+    }
+    
     /**
      * GET /api/job-applications/{applicationId}
      * Get application data
@@ -208,22 +294,69 @@ public class JobApplicationController {
     }
     
     /**
-     * GET /api/job-applications/all
-     * Get all applications (for debugging)
+     * GET /api/job-applications?status=...&position=...&currentStep=...&cursor=...&limit=...
+     * Query applications, newest first, one page at a time. Dates are ISO local date-times;
+     * view=summary (default) returns summary fields, view=full the stored application data.
      */
-    @GetMapping("/all")
-    public ResponseEntity<Map<String, Object>> getAllApplications() {
+    @GetMapping
+    public ResponseEntity<?> queryApplications(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) String position,
+            @RequestParam(required = false) String currentStep,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "summary") String view) {
         try {
-            Map<String, Object> result = jobApplicationService.getAllApplications();
-            return ResponseEntity.ok(result);
+            ApplicationQuery query = new ApplicationQuery();
+            query.setStatuses(status);
+            query.setPosition(position);
+            query.setCurrentStep(currentStep);
+            query.setCreatedFrom(toEpochMillis(createdFrom));
+            query.setCreatedTo(toEpochMillis(createdTo));
+            query.setUpdatedFrom(toEpochMillis(updatedFrom));
+            query.setUpdatedTo(toEpochMillis(updatedTo));
+            query.setCursor(cursor);
+            query.setLimit(limit);
+            
+            ApplicationPage<?> page = "full".equals(view)
+                ? applicationQueryIndex.queryFull(query)
+                : applicationQueryIndex.query(query);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
-            logger.error("Failed to get all applications", e);
+            logger.error("Failed to query applications", e);
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
     
+    /**
+     * GET /api/job-applications/all
+     * Get all applications (for debugging), streamed from the store as it is read.
+     * Optional fields=a,b limits each application's data to those fields.
+     */
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllApplications(@RequestParam(required = false) List<String> fields) {
+        Set<String> projection = fields != null ? new LinkedHashSet<>(fields) : Collections.<String>emptySet();
+        StreamingResponseBody body = out -> {
+            try {
+                applicationJsonWriter.writeAll(out, projection);
+            } catch (IOException e) {
+                logger.error("Failed to write all applications", e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
     /**
      * POST /api/job-applications/start-bpmn-process
      * Manually start a BPMN process instance for testing
@@ -247,7 +380,7 @@ public class JobApplicationController {
             
             // Start process instance
             ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
-                "job-recruitment-workflow-india",
+                workflowDefinitionService.getWorkflowDefinition().getProcessDefinitionKey(),
                 (String) variables.get("applicationId"), // business key
                 processVariables
             );
@@ -278,7 +411,7 @@ public class JobApplicationController {
     public ResponseEntity<Map<String, Object>> getBpmnProcesses() {
         try {
             List<ProcessInstance> processInstances = runtimeService.createProcessInstanceQuery()
-                .processDefinitionKey("job-recruitment-workflow-india")
+                .processDefinitionKeyIn(workflowDefinitionService.getProcessDefinitionKeys().toArray(new String[0]))
                 .list();
             
             Map<String, Object> response = new HashMap<>();
@@ -304,17 +437,15 @@ public class JobApplicationController {
     
     /**
      * GET /api/job-applications/sync
-     * Manually trigger sync with Camunda (for debugging)
+     * Report the state of the Camunda status projection (for debugging).
+     * The projection is updated by engine listeners, so there is nothing to pull.
      */
     @GetMapping("/sync")
     public ResponseEntity<Map<String, Object>> syncWithCamunda() {
         try {
-            // This will trigger the sync in getAllApplications
-            Map<String, Object> result = jobApplicationService.getAllApplications();
-            
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "Sync completed successfully");
-            response.put("totalApplications", result.get("totalApplications"));
+            response.put("message", "Application statuses are kept in sync by engine listeners");
+            response.put("totalApplications", jobApplicationService.countApplications());
             response.put("timestamp", System.currentTimeMillis());
             
             return ResponseEntity.ok(response);
@@ -339,4 +470,34 @@ public class JobApplicationController {
         response.put("timestamp", System.currentTimeMillis());
         return ResponseEntity.ok(response);
     }
+    
+    // Clients revalidate on every use (a hot reload changes the definition), which costs a 304 at most
+    private static ResponseEntity<byte[]> serve(JsonDocument document, HttpServletRequest request) {
+        boolean gzip = document.getGzipped() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? document.getGzipEtag() : document.getEtag();
+        if (document.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(document.getGzipped());
+        }
+        return response.body(document.getJson());
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+    
+    private static Long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null;
+    }
 }
\ No newline at end of file
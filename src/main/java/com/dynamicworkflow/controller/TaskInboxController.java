@@ -0,0 +1,93 @@
+package com.dynamicworkflow.controller;
+
+import com.dynamicworkflow.dto.ApplicationPage;
+import com.dynamicworkflow.dto.BulkCompleteRequest;
+import com.dynamicworkflow.dto.BulkCompleteResult;
+import com.dynamicworkflow.dto.TaskSummary;
+import com.dynamicworkflow.service.BulkTaskService;
+import com.dynamicworkflow.service.TaskInboxIndex;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "*")
+@Timed(value = "workflow.api.requests", histogram = true)
+public class TaskInboxController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TaskInboxController.class);
+    
+    private final TaskInboxIndex taskInboxIndex;
+    private final BulkTaskService bulkTaskService;
+    
+    public TaskInboxController(TaskInboxIndex taskInboxIndex, BulkTaskService bulkTaskService) {
+        this.taskInboxIndex = taskInboxIndex;
+        this.bulkTaskService = bulkTaskService;
+    }
+    
+    /**
+     * GET /api/tasks?group={candidateGroup}&sort=oldest|newest&cursor=...&limit=...
+     * Open review tasks of a candidate group, oldest first by default
+     */
+    @GetMapping
+    public ResponseEntity<?> getInbox(@RequestParam String group,
+                                      @RequestParam(defaultValue = "oldest") String sort,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") int limit) {
+        try {
+            if (!"oldest".equals(sort) && !"newest".equals(sort)) {
+                throw new IllegalArgumentException("sort must be 'oldest' or 'newest'");
+            }
+            ApplicationPage<TaskSummary> page = taskInboxIndex.inbox(group, "newest".equals(sort), cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Failed to load task inbox for group: {}", group, e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * POST /api/tasks/bulk-complete
+     * Complete many tasks (by taskIds or businessKeys) with the same decision variables,
+     * in chunked transactions; returns one result per item
+     */
+    @PostMapping("/bulk-complete")
+    public ResponseEntity<Map<String, Object>> bulkComplete(@RequestBody BulkCompleteRequest request) {
+        try {
+            List<BulkCompleteResult> results = bulkTaskService.complete(request);
+            long completed = results.stream()
+                .filter(result -> BulkCompleteResult.COMPLETED.equals(result.getStatus()))
+                .count();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("total", results.size());
+            response.put("completed", completed);
+            response.put("failed", results.size() - completed);
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            logger.error("Bulk task completion failed", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+}
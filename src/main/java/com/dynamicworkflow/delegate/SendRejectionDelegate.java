@@ -1,6 +1,10 @@
 package com.dynamicworkflow.delegate;
 
+import com.dynamicworkflow.metrics.WorkflowMetrics;
+import com.dynamicworkflow.service.ApplicantVariables;
 import com.dynamicworkflow.service.JobApplicationService;
+import com.dynamicworkflow.service.MessageTemplateService;
+import com.dynamicworkflow.service.NotificationService;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
@@ -20,64 +24,55 @@ public class SendRejectionDelegate implements JavaDelegate {
     @Autowired
     private JobApplicationService jobApplicationService;
     
+    @Autowired
+    private WorkflowMetrics workflowMetrics;
+    
+    @Autowired
+    private ApplicantVariables applicantVariables;
+    
+    @Autowired
+    private MessageTemplateService messageTemplateService;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
     @Override
     public void execute(DelegateExecution execution) throws Exception {
+        workflowMetrics.recordDelegate("SendRejectionDelegate", execution.getCurrentActivityId(), () -> sendRejection(execution));
+    }
+    
+    private void sendRejection(DelegateExecution execution) {
         String applicationId = (String) execution.getVariable("applicationId");
-        String applicantEmail = (String) execution.getVariable("email");
-        String applicantName = execution.getVariable("firstName") + " " + execution.getVariable("lastName");
+        Map<String, Object> applicant = applicantVariables.read(execution);
+        String applicantEmail = (String) applicant.get("email");
         String hrComments = (String) execution.getVariable("hrComments");
         
-        logger.info("Sending rejection notification for application: {} to {}", applicationId, applicantEmail);
+        logger.info("Queueing rejection notification for application: {} to {}", applicationId, applicantEmail);
         
-        // In a real implementation, you would:
-        // 1. Send email notification to applicant
-        // 2. Update application status in database
-        // 3. Log the rejection in audit trail
-        // 4. Trigger any follow-up processes
+        Map<String, Object> letterValues = new HashMap<>(applicant);
+        letterValues.put("hrComments", hrComments);
+        String rejectionMessage = messageTemplateService.render(MessageTemplateService.REJECTION_LETTER, execution, letterValues);
         
-        // For demo purposes, we'll simulate the email sending
-        String rejectionMessage = buildRejectionMessage(applicantName, hrComments);
+        // Written to the outbox in this transaction; the dispatcher sends it after commit
+        notificationService.enqueue(applicationId, NotificationService.REJECTION, applicantEmail,
+            "Your job application " + applicationId, rejectionMessage);
         
         // Set process variables
         execution.setVariable("applicationStatus", "REJECTED");
         execution.setVariable("rejectionTimestamp", LocalDateTime.now().toString());
         execution.setVariable("rejectionMessage", rejectionMessage);
-        execution.setVariable("notificationSent", true);
+        // Only queued here: the outbox row may still end up FAILED
+        execution.setVariable("notificationQueued", true);
         
         // Update our in-memory application store
         Map<String, Object> additionalData = new HashMap<>();
         additionalData.put("hrComments", hrComments);
         additionalData.put("rejectionTimestamp", LocalDateTime.now().toString());
         additionalData.put("rejectionMessage", rejectionMessage);
-        additionalData.put("notificationSent", true);
+        additionalData.put("notificationQueued", true);
         
         jobApplicationService.updateApplicationStatus(applicationId, "REJECTED", additionalData);
         
-        // Simulate email sending (in real implementation, use email service)
-        logger.info("Rejection notification sent to: {}", applicantEmail);
-        logger.info("Rejection message: {}", rejectionMessage);
-        
-        logger.info("Application {} rejected and notification sent successfully", applicationId);
-    }
-    
-    private String buildRejectionMessage(String applicantName, String hrComments) {
-        StringBuilder message = new StringBuilder();
-        
-        message.append("Dear ").append(applicantName).append(",\n\n");
-        message.append("Thank you for your interest in our company and for taking the time to apply for the position.\n\n");
-        message.append("After careful consideration of your application, we regret to inform you that we will not be moving forward with your candidacy at this time.\n\n");
-        
-        if (hrComments != null && !hrComments.trim().isEmpty()) {
-            message.append("Feedback from our HR team:\n");
-            message.append(hrComments).append("\n\n");
-        }
-        
-        message.append("We encourage you to apply for future opportunities that match your skills and experience.\n\n");
-        message.append("We wish you the best of luck in your job search.\n\n");
-        message.append("Best regards,\n");
-        message.append("HR Team\n");
-        message.append("Job Recruitment System");
-        
-        return message.toString();
+        logger.info("Application {} rejected and notification queued", applicationId);
     }
 }
\ No newline at end of file
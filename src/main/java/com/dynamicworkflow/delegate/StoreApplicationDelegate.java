@@ -1,6 +1,10 @@
 package com.dynamicworkflow.delegate;
 
+import com.dynamicworkflow.metrics.WorkflowMetrics;
+import com.dynamicworkflow.service.ApplicantVariables;
 import com.dynamicworkflow.service.JobApplicationService;
+import com.dynamicworkflow.service.MessageTemplateService;
+import com.dynamicworkflow.service.NotificationService;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
@@ -20,8 +24,24 @@ public class StoreApplicationDelegate implements JavaDelegate {
     @Autowired
     private JobApplicationService jobApplicationService;
     
+    @Autowired
+    private WorkflowMetrics workflowMetrics;
+    
+    @Autowired
+    private ApplicantVariables applicantVariables;
+    
+    @Autowired
+    private MessageTemplateService messageTemplateService;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
     @Override
     public void execute(DelegateExecution execution) throws Exception {
+        workflowMetrics.recordDelegate("StoreApplicationDelegate", execution.getCurrentActivityId(), () -> storeApplication(execution));
+    }
+    
+    private void storeApplication(DelegateExecution execution) {
         String applicationId = (String) execution.getVariable("applicationId");
         logger.info("Storing application: {}", applicationId);
         
@@ -36,19 +56,30 @@ public class StoreApplicationDelegate implements JavaDelegate {
         // In a real implementation, you would:
         // 1. Save to database
         // 2. Generate application reference number
-        // 3. Send acceptance email to applicant
-        // 4. Trigger next steps in recruitment process (interview scheduling, etc.)
-        // 5. Update application status to ACCEPTED
-        // 6. Notify relevant teams
+        // 3. Trigger next steps in recruitment process (interview scheduling, etc.)
+        // 4. Update application status to ACCEPTED
+        // 5. Notify relevant teams
         
         // For demo purposes, we'll log the data and set acceptance status
         logger.info("Application data for {}: {}", applicationId, variables);
         logger.info("HR Decision: {}, Comments: {}, Interview Required: {}", hrDecision, hrComments, interviewRequired);
         
+        String referenceNumber = "REF-" + System.currentTimeMillis();
+        String nextStep = Boolean.TRUE.equals(interviewRequired) ? "INTERVIEW_SCHEDULING" : "ONBOARDING_PROCESS";
         execution.setVariable("applicationStatus", "ACCEPTED");
         execution.setVariable("acceptanceTimestamp", LocalDateTime.now());
-        execution.setVariable("referenceNumber", "REF-" + System.currentTimeMillis());
-        execution.setVariable("nextStep", interviewRequired ? "INTERVIEW_SCHEDULING" : "ONBOARDING_PROCESS");
+        execution.setVariable("referenceNumber", referenceNumber);
+        execution.setVariable("nextStep", nextStep);
+        
+        // Acceptance email goes through the outbox, sent after this transaction commits
+        Map<String, Object> applicant = applicantVariables.read(execution);
+        Map<String, Object> letterValues = new HashMap<>(applicant);
+        letterValues.put("referenceNumber", referenceNumber);
+        letterValues.put("interviewRequired", Boolean.TRUE.equals(interviewRequired) ? "yes" : null);
+        notificationService.enqueue(applicationId, NotificationService.ACCEPTANCE, (String) applicant.get("email"),
+            "Your job application " + applicationId,
+            messageTemplateService.render(MessageTemplateService.ACCEPTANCE_LETTER, execution, letterValues));
+        execution.setVariable("notificationQueued", true);
         
         // Update our in-memory application store
         Map<String, Object> additionalData = new HashMap<>();
@@ -56,7 +87,8 @@ public class StoreApplicationDelegate implements JavaDelegate {
         additionalData.put("hrComments", hrComments);
         additionalData.put("interviewRequired", interviewRequired);
         additionalData.put("acceptanceTimestamp", LocalDateTime.now().toString());
-        additionalData.put("referenceNumber", "REF-" + System.currentTimeMillis());
+        additionalData.put("referenceNumber", referenceNumber);
+        additionalData.put("notificationQueued", true);
         
         jobApplicationService.updateApplicationStatus(applicationId, "ACCEPTED", additionalData);
         
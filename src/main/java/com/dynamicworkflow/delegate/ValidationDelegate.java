@@ -1,9 +1,11 @@
 package com.dynamicworkflow.delegate;
 
+import com.dynamicworkflow.metrics.WorkflowMetrics;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -11,8 +13,15 @@ public class ValidationDelegate implements JavaDelegate {
     
     private static final Logger logger = LoggerFactory.getLogger(ValidationDelegate.class);
     
+    @Autowired
+    private WorkflowMetrics workflowMetrics;
+    
     @Override
     public void execute(DelegateExecution execution) throws Exception {
+        workflowMetrics.recordDelegate("ValidationDelegate", execution.getCurrentActivityId(), () -> validateApplication(execution));
+    }
+    
+    private void validateApplication(DelegateExecution execution) {
         logger.info("Executing validation for application: {}", 
                    execution.getVariable("applicationId"));
         
@@ -0,0 +1,42 @@
+package com.dynamicworkflow.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One page of an application or task query. {@code nextCursor} is null on the last page;
+ * {@code total} is only set where the count is known without a scan.
+ */
+public class ApplicationPage<T> {
+
+    private List<T> items;
+    private int size;
+    private String nextCursor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+
+    // Constructors
+    public ApplicationPage() {}
+
+    public ApplicationPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.size = items.size();
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+
+    public boolean isHasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,48 @@
+package com.dynamicworkflow.dto;
+
+import java.util.List;
+
+/**
+ * Filters and paging for the application query API. Null filters match everything;
+ * date bounds are epoch millis, inclusive.
+ */
+public class ApplicationQuery {
+
+    private List<String> statuses;
+    private String position;
+    private String currentStep;
+    private Long createdFrom;
+    private Long createdTo;
+    private Long updatedFrom;
+    private Long updatedTo;
+    private String cursor;
+    private int limit = 50;
+
+    // Getters and Setters
+    public List<String> getStatuses() { return statuses; }
+    public void setStatuses(List<String> statuses) { this.statuses = statuses; }
+
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+
+    public String getCurrentStep() { return currentStep; }
+    public void setCurrentStep(String currentStep) { this.currentStep = currentStep; }
+
+    public Long getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(Long createdFrom) { this.createdFrom = createdFrom; }
+
+    public Long getCreatedTo() { return createdTo; }
+    public void setCreatedTo(Long createdTo) { this.createdTo = createdTo; }
+
+    public Long getUpdatedFrom() { return updatedFrom; }
+    public void setUpdatedFrom(Long updatedFrom) { this.updatedFrom = updatedFrom; }
+
+    public Long getUpdatedTo() { return updatedTo; }
+    public void setUpdatedTo(Long updatedTo) { this.updatedTo = updatedTo; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
@@ -0,0 +1,77 @@
+package com.dynamicworkflow.dto;
+
+import com.dynamicworkflow.model.ApplicationSnapshot;
+
+import java.util.Map;
+
+/**
+ * Summary projection of an application for dashboard lists.
+ */
+public class ApplicationSummary {
+
+    private String applicationId;
+    private String status;
+    private String applicantName;
+    private String email;
+    private String position;
+    private String currentStep;
+    private String processInstanceId;
+    private long createdAt;
+    private long updatedAt;
+
+    // Constructors
+    public ApplicationSummary() {}
+
+    public static ApplicationSummary of(ApplicationSnapshot application) {
+        Map<String, Object> data = application.getData();
+        ApplicationSummary summary = new ApplicationSummary();
+        summary.applicationId = application.getApplicationId();
+        summary.status = application.getStatus();
+        summary.applicantName = applicantName(data.get("firstName"), data.get("lastName"));
+        summary.email = data.get("email") != null ? data.get("email").toString() : null;
+        summary.position = application.getPosition();
+        summary.currentStep = application.getCurrentStep();
+        summary.processInstanceId = application.getProcessInstanceId();
+        summary.createdAt = application.getCreatedAt();
+        summary.updatedAt = application.getUpdatedAt();
+        return summary;
+    }
+
+    private static String applicantName(Object firstName, Object lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
+        }
+        if (firstName == null || lastName == null) {
+            return String.valueOf(firstName != null ? firstName : lastName);
+        }
+        return firstName + " " + lastName;
+    }
+
+    // Getters and Setters
+    public String getApplicationId() { return applicationId; }
+    public void setApplicationId(String applicationId) { this.applicationId = applicationId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getApplicantName() { return applicantName; }
+    public void setApplicantName(String applicantName) { this.applicantName = applicantName; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+
+    public String getCurrentStep() { return currentStep; }
+    public void setCurrentStep(String currentStep) { this.currentStep = currentStep; }
+
+    public String getProcessInstanceId() { return processInstanceId; }
+    public void setProcessInstanceId(String processInstanceId) { this.processInstanceId = processInstanceId; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+
+    public long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,51 @@
+package com.dynamicworkflow.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of one record of a batch import, written as one NDJSON line.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchImportResult {
+
+    public static final String IMPORTED = "IMPORTED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    private int line;
+    private String externalId;
+    private String applicationId;
+    private String processInstanceId;
+    private String status;
+    private List<String> errors;
+
+    // Constructors
+    public BatchImportResult() {}
+
+    public BatchImportResult(int line, String externalId, String status) {
+        this.line = line;
+        this.externalId = externalId;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public int getLine() { return line; }
+    public void setLine(int line) { this.line = line; }
+
+    public String getExternalId() { return externalId; }
+    public void setExternalId(String externalId) { this.externalId = externalId; }
+
+    public String getApplicationId() { return applicationId; }
+    public void setApplicationId(String applicationId) { this.applicationId = applicationId; }
+
+    public String getProcessInstanceId() { return processInstanceId; }
+    public void setProcessInstanceId(String processInstanceId) { this.processInstanceId = processInstanceId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
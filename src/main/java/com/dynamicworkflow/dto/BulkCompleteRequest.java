@@ -0,0 +1,33 @@
+package com.dynamicworkflow.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tasks to complete with one set of decision variables, addressed by task id
+ * or by application id (process business key).
+ */
+public class BulkCompleteRequest {
+
+    private List<String> taskIds;
+    private List<String> businessKeys;
+    // Review task to complete for each business key, e.g. HRReviewTask
+    private String taskDefinitionKey;
+    private Map<String, Object> variables;
+
+    // Constructors
+    public BulkCompleteRequest() {}
+
+    // Getters and Setters
+    public List<String> getTaskIds() { return taskIds; }
+    public void setTaskIds(List<String> taskIds) { this.taskIds = taskIds; }
+
+    public List<String> getBusinessKeys() { return businessKeys; }
+    public void setBusinessKeys(List<String> businessKeys) { this.businessKeys = businessKeys; }
+
+    public String getTaskDefinitionKey() { return taskDefinitionKey; }
+    public void setTaskDefinitionKey(String taskDefinitionKey) { this.taskDefinitionKey = taskDefinitionKey; }
+
+    public Map<String, Object> getVariables() { return variables; }
+    public void setVariables(Map<String, Object> variables) { this.variables = variables; }
+}
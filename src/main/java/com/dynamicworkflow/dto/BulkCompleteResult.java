@@ -0,0 +1,41 @@
+package com.dynamicworkflow.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk task completion.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkCompleteResult {
+
+    public static final String COMPLETED = "COMPLETED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String AMBIGUOUS = "AMBIGUOUS";
+    public static final String FAILED = "FAILED";
+
+    private String taskId;
+    private String businessKey;
+    private String status;
+    private String error;
+
+    // Constructors
+    public BulkCompleteResult() {}
+
+    public BulkCompleteResult(String taskId, String businessKey) {
+        this.taskId = taskId;
+        this.businessKey = businessKey;
+    }
+
+    // Getters and Setters
+    public String getTaskId() { return taskId; }
+    public void setTaskId(String taskId) { this.taskId = taskId; }
+
+    public String getBusinessKey() { return businessKey; }
+    public void setBusinessKey(String businessKey) { this.businessKey = businessKey; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
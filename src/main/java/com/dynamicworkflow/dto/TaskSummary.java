@@ -0,0 +1,79 @@
+package com.dynamicworkflow.dto;
+
+import java.util.List;
+
+/**
+ * Open review task as listed in a candidate group's inbox.
+ */
+public class TaskSummary {
+
+    private String taskId;
+    private String name;
+    private String taskDefinitionKey;
+    private String processInstanceId;
+    private String applicationId;
+    private String assignee;
+    private List<String> candidateGroups;
+    private long createdAt;
+    private long ageMillis;
+
+    // Application fields, filled in for the returned page only
+    private String applicantName;
+    private String position;
+    private String applicationStatus;
+
+    // Constructors
+    public TaskSummary() {}
+
+    public TaskSummary(TaskSummary other) {
+        this.taskId = other.taskId;
+        this.name = other.name;
+        this.taskDefinitionKey = other.taskDefinitionKey;
+        this.processInstanceId = other.processInstanceId;
+        this.applicationId = other.applicationId;
+        this.assignee = other.assignee;
+        this.candidateGroups = other.candidateGroups;
+        this.createdAt = other.createdAt;
+        this.ageMillis = other.ageMillis;
+        this.applicantName = other.applicantName;
+        this.position = other.position;
+        this.applicationStatus = other.applicationStatus;
+    }
+
+    // Getters and Setters
+    public String getTaskId() { return taskId; }
+    public void setTaskId(String taskId) { this.taskId = taskId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getTaskDefinitionKey() { return taskDefinitionKey; }
+    public void setTaskDefinitionKey(String taskDefinitionKey) { this.taskDefinitionKey = taskDefinitionKey; }
+
+    public String getProcessInstanceId() { return processInstanceId; }
+    public void setProcessInstanceId(String processInstanceId) { this.processInstanceId = processInstanceId; }
+
+    public String getApplicationId() { return applicationId; }
+    public void setApplicationId(String applicationId) { this.applicationId = applicationId; }
+
+    public String getAssignee() { return assignee; }
+    public void setAssignee(String assignee) { this.assignee = assignee; }
+
+    public List<String> getCandidateGroups() { return candidateGroups; }
+    public void setCandidateGroups(List<String> candidateGroups) { this.candidateGroups = candidateGroups; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+
+    public long getAgeMillis() { return ageMillis; }
+    public void setAgeMillis(long ageMillis) { this.ageMillis = ageMillis; }
+
+    public String getApplicantName() { return applicantName; }
+    public void setApplicantName(String applicantName) { this.applicantName = applicantName; }
+
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+
+    public String getApplicationStatus() { return applicationStatus; }
+    public void setApplicationStatus(String applicationStatus) { this.applicationStatus = applicationStatus; }
+}
@@ -0,0 +1,136 @@
+package com.dynamicworkflow.metrics;
+
+import com.dynamicworkflow.repository.ApplicationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the workflow: engine call and delegate timers,
+ * validation failure and task cache counters, application store gauges and
+ * notification outbox meters. Exposed through Actuator at /actuator/prometheus.
+ */
+@Component
+public class WorkflowMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final ApplicationRepository applicationRepository;
+    private final MultiGauge applicationsByStatus;
+    // Total of the last per-status refresh; a scrape must not flush and count the JDBC store
+    private final AtomicLong applicationsStored = new AtomicLong();
+
+    public WorkflowMetrics(MeterRegistry meterRegistry, ApplicationRepository applicationRepository) {
+        this.meterRegistry = meterRegistry;
+        this.applicationRepository = applicationRepository;
+
+        Gauge.builder("workflow.applications.stored", applicationsStored, AtomicLong::get)
+            .description("Applications in the application store")
+            .register(meterRegistry);
+        this.applicationsByStatus = MultiGauge.builder("workflow.applications.by.status")
+            .description("Applications per status")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Time one RuntimeService/TaskService/HistoryService call.
+     */
+    public <T> T recordEngineCall(String operation, Supplier<T> call) {
+        return engineTimer(operation).record(call);
+    }
+
+    public void recordEngineCall(String operation, Runnable call) {
+        engineTimer(operation).record(call);
+    }
+
+    /**
+     * Time one JavaDelegate execution, tagged by delegate, activity and outcome.
+     */
+    public void recordDelegate(String delegate, String activityId, DelegateWork work) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            work.run();
+        } catch (Exception e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("workflow.delegate.execution")
+                .tag("delegate", delegate)
+                .tag("activity", activityId != null ? activityId : "unknown")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    public void validationFailed(String stepId) {
+        meterRegistry.counter("workflow.validation.failures", "step", stepId != null ? stepId : "unknown").increment();
+    }
+
+    /**
+     * Count one ActiveTaskCache lookup on the step submission path.
+     */
+    public void taskCacheLookup(boolean hit) {
+        meterRegistry.counter("workflow.task.cache.lookups", "result", hit ? "hit" : "miss").increment();
+    }
+
+    /**
+     * Gauge of notifications waiting in the outbox, as last counted by the dispatcher.
+     */
+    public void registerNotificationQueue(Supplier<Number> pending) {
+        Gauge.builder("workflow.notifications.pending", pending)
+            .description("Notifications waiting in the outbox")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Time from enqueue to delivery of one notification.
+     */
+    public void notificationSent(String kind, long enqueuedAt) {
+        Timer.builder("workflow.notifications.delivery")
+            .description("Time from enqueue to delivery")
+            .tag("kind", kind)
+            .register(meterRegistry)
+            .record(Math.max(0, System.currentTimeMillis() - enqueuedAt), TimeUnit.MILLISECONDS);
+    }
+
+    public void notificationFailed(String kind, boolean retrying) {
+        meterRegistry.counter("workflow.notifications.failures", "kind", kind, "outcome", retrying ? "retry" : "failed")
+            .increment();
+    }
+
+    // Store counts are refreshed on a schedule rather than on every scrape
+    @Scheduled(fixedDelayString = "${workflow.metrics.status-refresh-ms:10000}")
+    public void refreshStatusGauges() {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<String, Long> entry : applicationRepository.countByStatus().entrySet()) {
+            String status = entry.getKey();
+            rows.add(MultiGauge.Row.of(Tags.of("status", status != null ? status : "UNKNOWN"), entry.getValue()));
+            total += entry.getValue();
+        }
+        applicationsByStatus.register(rows, true);
+        applicationsStored.set(total);
+    }
+
+    private Timer engineTimer(String operation) {
+        return Timer.builder("workflow.engine.calls")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface DelegateWork {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,306 @@
+package com.dynamicworkflow.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable data of one application, laid out by a {@link RecordLayout}.
+ *
+ * Schema fields and the well-known metadata keys live in typed slots: numbers,
+ * dates and timestamps as primitive longs, option values as the shared instance
+ * from the schema. Keys without a slot, and values that do not fit their slot's
+ * type, are kept as given in a small overflow map. The record is a read-only
+ * {@link Map}, so it serializes and reads like the {@code HashMap} it replaces;
+ * numbers read back as the type they were given in (Integer, Long, Double, or
+ * the same String), and dates and timestamps read back as ISO strings. Changes
+ * are applied with {@link #with}, which copies the slot arrays and leaves this
+ * record untouched.
+ */
+public final class ApplicationRecord extends AbstractMap<String, Object> {
+
+    // How a NUMBER slot's long was given, so it reads back as the same type
+    private static final byte NUMBER_DOUBLE = 0;
+    private static final byte NUMBER_LONG = 1;
+    private static final byte NUMBER_INTEGER = 2;
+    private static final byte NUMBER_TEXT = 3;
+
+    private final RecordLayout layout;
+    private final Object[] references;
+    private final long[] primitives;
+    // Per primitive index; only read for NUMBER slots
+    private final byte[] numberForms;
+    // One bit per slot ordinal: set when the slot holds a value, null included
+    private final long[] present;
+    private final Map<String, Object> overflow;
+    private final int size;
+
+    private ApplicationRecord(RecordLayout layout, Object[] references, long[] primitives, byte[] numberForms,
+                              long[] present, Map<String, Object> overflow) {
+        this.layout = layout;
+        this.references = references;
+        this.primitives = primitives;
+        this.numberForms = numberForms;
+        this.present = present;
+        this.overflow = overflow;
+        int slots = 0;
+        for (long word : present) {
+            slots += Long.bitCount(word);
+        }
+        this.size = slots + overflow.size();
+    }
+
+    /**
+     * Record on {@code layout} holding {@code data}.
+     */
+    public static ApplicationRecord of(RecordLayout layout, Map<String, ?> data) {
+        ApplicationRecord empty = new ApplicationRecord(layout,
+            new Object[layout.getReferenceCount()],
+            new long[layout.getPrimitiveCount()],
+            new byte[layout.getPrimitiveCount()],
+            new long[(layout.size() + 63) / 64],
+            Collections.<String, Object>emptyMap());
+        return empty.with(data);
+    }
+
+    public RecordLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Copy of this record with {@code changes} applied; a null value is stored as null, not removed.
+     */
+    public ApplicationRecord with(Map<String, ?> changes) {
+        if (changes == null || changes.isEmpty()) {
+            return this;
+        }
+        Object[] newReferences = references.clone();
+        long[] newPrimitives = primitives.clone();
+        byte[] newNumberForms = numberForms.clone();
+        long[] newPresent = present.clone();
+        Map<String, Object> newOverflow = null;
+
+        for (Map.Entry<String, ?> change : changes.entrySet()) {
+            String key = change.getKey();
+            Object value = change.getValue();
+            RecordLayout.Slot slot = layout.getSlot(key);
+            if (slot != null && store(slot, value, newReferences, newPrimitives, newNumberForms)) {
+                newPresent[slot.getOrdinal() >>> 6] |= 1L << slot.getOrdinal();
+                if (overflow.containsKey(key) || (newOverflow != null && newOverflow.containsKey(key))) {
+                    newOverflow = newOverflow != null ? newOverflow : new HashMap<>(overflow);
+                    newOverflow.remove(key);
+                }
+            } else {
+                if (slot != null) {
+                    newPresent[slot.getOrdinal() >>> 6] &= ~(1L << slot.getOrdinal());
+                    if (!slot.isPrimitive()) {
+                        newReferences[slot.getIndex()] = null;
+                    }
+                }
+                newOverflow = newOverflow != null ? newOverflow : new HashMap<>(overflow);
+                newOverflow.put(key, value);
+            }
+        }
+
+        Map<String, Object> frozen = overflow;
+        if (newOverflow != null) {
+            frozen = newOverflow.isEmpty()
+                ? Collections.<String, Object>emptyMap() : Collections.unmodifiableMap(newOverflow);
+        }
+        return new ApplicationRecord(layout, newReferences, newPrimitives, newNumberForms, newPresent, frozen);
+    }
+
+    @Override
+    public Object get(Object key) {
+        RecordLayout.Slot slot = layout.getSlot(key);
+        if (slot != null && isPresent(slot.getOrdinal())) {
+            return read(slot);
+        }
+        return overflow.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        RecordLayout.Slot slot = layout.getSlot(key);
+        return (slot != null && isPresent(slot.getOrdinal())) || overflow.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private boolean isPresent(int ordinal) {
+        return (present[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    // Returns false if the value does not fit the slot, e.g. text in a number field
+    private static boolean store(RecordLayout.Slot slot, Object value, Object[] references, long[] primitives,
+                                 byte[] numberForms) {
+        switch (slot.getKind()) {
+            case NUMBER:
+                return storeNumber(slot.getIndex(), value, primitives, numberForms);
+            case DATE:
+                try {
+                    if (value instanceof LocalDate) {
+                        primitives[slot.getIndex()] = ((LocalDate) value).toEpochDay();
+                        return true;
+                    }
+                    if (value instanceof String) {
+                        primitives[slot.getIndex()] = LocalDate.parse((String) value).toEpochDay();
+                        return true;
+                    }
+                } catch (DateTimeParseException e) {
+                    // Kept as given
+                }
+                return false;
+            case TIMESTAMP:
+                try {
+                    if (value instanceof Number) {
+                        primitives[slot.getIndex()] = ((Number) value).longValue();
+                        return true;
+                    }
+                    if (value instanceof LocalDateTime || value instanceof String) {
+                        LocalDateTime dateTime = value instanceof LocalDateTime
+                            ? (LocalDateTime) value : LocalDateTime.parse((String) value);
+                        primitives[slot.getIndex()] = dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                        return true;
+                    }
+                } catch (DateTimeParseException e) {
+                    // Kept as given
+                }
+                return false;
+            case OPTIONS:
+                if (value instanceof Collection) {
+                    List<Object> values = new ArrayList<>(((Collection<?>) value).size());
+                    for (Object element : (Collection<?>) value) {
+                        values.add(slot.canonicalize(element));
+                    }
+                    references[slot.getIndex()] = Collections.unmodifiableList(values);
+                } else {
+                    references[slot.getIndex()] = slot.canonicalize(value);
+                }
+                return true;
+            case OPTION:
+                references[slot.getIndex()] = slot.canonicalize(value);
+                return true;
+            default:
+                references[slot.getIndex()] = value;
+                return true;
+        }
+    }
+
+    private Object read(RecordLayout.Slot slot) {
+        switch (slot.getKind()) {
+            case NUMBER: {
+                long bits = primitives[slot.getIndex()];
+                switch (numberForms[slot.getIndex()]) {
+                    case NUMBER_LONG:
+                        return bits;
+                    case NUMBER_INTEGER:
+                        return (int) bits;
+                    case NUMBER_TEXT:
+                        return Long.toString(bits);
+                    default:
+                        return Double.longBitsToDouble(bits);
+                }
+            }
+            case DATE:
+                return LocalDate.ofEpochDay(primitives[slot.getIndex()]).toString();
+            case TIMESTAMP:
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(primitives[slot.getIndex()]),
+                                               ZoneId.systemDefault()).toString();
+            default:
+                return references[slot.getIndex()];
+        }
+    }
+
+    // Only values that read back equal to what was given fit: Integer, Long and Double as
+    // themselves, and strings in plain integer form ("12", not "12.50" or "012")
+    private static boolean storeNumber(int index, Object value, long[] primitives, byte[] numberForms) {
+        if (value instanceof Integer || value instanceof Long) {
+            primitives[index] = ((Number) value).longValue();
+            numberForms[index] = value instanceof Long ? NUMBER_LONG : NUMBER_INTEGER;
+            return true;
+        }
+        if (value instanceof Double) {
+            primitives[index] = Double.doubleToRawLongBits((Double) value);
+            numberForms[index] = NUMBER_DOUBLE;
+            return true;
+        }
+        if (value instanceof String) {
+            String text = (String) value;
+            try {
+                long number = Long.parseLong(text);
+                if (Long.toString(number).equals(text)) {
+                    primitives[index] = number;
+                    numberForms[index] = NUMBER_TEXT;
+                    return true;
+                }
+            } catch (NumberFormatException e) {
+                // Kept as given
+            }
+        }
+        return false;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int ordinal = nextPresent(0);
+        private final Iterator<Entry<String, Object>> overflowEntries = overflow.entrySet().iterator();
+
+        @Override
+        public boolean hasNext() {
+            return ordinal < layout.size() || overflowEntries.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (ordinal < layout.size()) {
+                RecordLayout.Slot slot = layout.getSlot(ordinal);
+                ordinal = nextPresent(ordinal + 1);
+                return new SimpleImmutableEntry<>(slot.getKey(), read(slot));
+            }
+            if (overflowEntries.hasNext()) {
+                return overflowEntries.next();
+            }
+            throw new NoSuchElementException();
+        }
+
+        private int nextPresent(int from) {
+            int next = from;
+            while (next < layout.size() && !isPresent(next)) {
+                next++;
+            }
+            return next;
+        }
+    }
+}
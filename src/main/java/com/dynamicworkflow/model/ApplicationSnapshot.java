@@ -0,0 +1,61 @@
+package com.dynamicworkflow.model;
+
+import java.util.Map;
+
+/**
+ * Immutable view of one job application. Updates produce a new snapshot,
+ * so a snapshot can be shared between request threads and engine delegates
+ * without locking. The data is an {@link ApplicationRecord} laid out by the
+ * application's workflow version.
+ */
+public final class ApplicationSnapshot {
+
+    private final String applicationId;
+    private final String status;
+    private final ApplicationRecord data;
+    private final long createdAt;
+    private final long updatedAt;
+
+    public ApplicationSnapshot(String applicationId, String status, ApplicationRecord data,
+                               long createdAt, long updatedAt) {
+        this.applicationId = applicationId;
+        this.status = status;
+        this.data = data;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static ApplicationSnapshot create(String applicationId, String status, RecordLayout layout,
+                                             Map<String, Object> data) {
+        long now = System.currentTimeMillis();
+        return new ApplicationSnapshot(applicationId, status, ApplicationRecord.of(layout, data), now, now);
+    }
+
+    /**
+     * Copy of this snapshot with the given data merged in and, if non-null, a new status.
+     */
+    public ApplicationSnapshot withChanges(String newStatus, Map<String, Object> changes) {
+        return new ApplicationSnapshot(applicationId, newStatus != null ? newStatus : status, data.with(changes),
+                                       createdAt, System.currentTimeMillis());
+    }
+
+    // Getters
+    public String getApplicationId() { return applicationId; }
+
+    public String getStatus() { return status; }
+
+    public ApplicationRecord getData() { return data; }
+
+    public long getCreatedAt() { return createdAt; }
+
+    public long getUpdatedAt() { return updatedAt; }
+
+    public String getCurrentStep() { return (String) data.get("currentStep"); }
+
+    public String getProcessInstanceId() { return (String) data.get("processInstanceId"); }
+
+    public String getPosition() {
+        Object position = data.get("position");
+        return position != null ? position.toString() : null;
+    }
+}
@@ -0,0 +1,203 @@
+package com.dynamicworkflow.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slot layout of {@link ApplicationRecord}s, derived once per workflow version
+ * from its field schema and shared by every application on that version.
+ *
+ * Each key gets an ordinal and a typed slot: numbers, dates and timestamps are
+ * held as primitive longs, option values are replaced by the one canonical
+ * instance from the schema, and everything else is kept as a reference.
+ */
+public final class RecordLayout {
+
+    /**
+     * Layout without slots; every value of a record on it is kept as is.
+     */
+    public static final RecordLayout EMPTY = new RecordLayout(Collections.<Slot>emptyList());
+
+    public enum Kind {
+        /** Any value, stored as given. */
+        VALUE,
+        /** One option value of a dropdown or radio field. */
+        OPTION,
+        /** List of option values of a checkbox group. */
+        OPTIONS,
+        /** Number, held as a long or the bits of a double; reads back as the type it was given in. */
+        NUMBER,
+        /** ISO date (yyyy-MM-dd), held as epoch day. */
+        DATE,
+        /** Local date-time, held as epoch millis. */
+        TIMESTAMP
+    }
+
+    private final Slot[] slots;
+    private final Map<String, Slot> slotsByKey;
+    private final int referenceCount;
+    private final int primitiveCount;
+
+    /**
+     * Layout of the given slots in order; for a key given more than once the first slot wins.
+     */
+    public RecordLayout(List<Slot> definitions) {
+        Map<String, Slot> byKey = new HashMap<>();
+        Slot[] ordered = new Slot[definitions.size()];
+        int count = 0;
+        int references = 0;
+        int primitives = 0;
+        for (Slot definition : definitions) {
+            if (byKey.containsKey(definition.key)) {
+                continue;
+            }
+            int index = definition.isPrimitive() ? primitives++ : references++;
+            Slot slot = new Slot(definition.key, definition.kind, definition.canonicalValues, count, index);
+            byKey.put(slot.key, slot);
+            ordered[count++] = slot;
+        }
+        this.slots = count == ordered.length ? ordered : Arrays.copyOf(ordered, count);
+        this.slotsByKey = byKey;
+        this.referenceCount = references;
+        this.primitiveCount = primitives;
+    }
+
+    /**
+     * Slot for a form field, typed from its {@code fieldType}.
+     */
+    public static Slot forField(FormField field) {
+        String type = field.getFieldType() != null ? field.getFieldType() : "";
+        List<FormField.FieldOption> options = field.getOptions();
+        switch (type) {
+            case "number":
+                return number(field.getFieldId());
+            case "date":
+                return date(field.getFieldId());
+            case "dropdown":
+            case "select":
+            case "radio":
+                return option(field.getFieldId(), optionValues(options));
+            case "checkbox":
+                // A single checkbox without options holds a plain boolean
+                return options != null && !options.isEmpty()
+                    ? options(field.getFieldId(), optionValues(options)) : value(field.getFieldId());
+            default:
+                return value(field.getFieldId());
+        }
+    }
+
+    public static Slot value(String key) {
+        return new Slot(key, Kind.VALUE, Collections.<String, String>emptyMap(), -1, -1);
+    }
+
+    public static Slot option(String key, Collection<String> values) {
+        return new Slot(key, Kind.OPTION, canonical(values), -1, -1);
+    }
+
+    public static Slot options(String key, Collection<String> values) {
+        return new Slot(key, Kind.OPTIONS, canonical(values), -1, -1);
+    }
+
+    public static Slot number(String key) {
+        return new Slot(key, Kind.NUMBER, Collections.<String, String>emptyMap(), -1, -1);
+    }
+
+    public static Slot date(String key) {
+        return new Slot(key, Kind.DATE, Collections.<String, String>emptyMap(), -1, -1);
+    }
+
+    public static Slot timestamp(String key) {
+        return new Slot(key, Kind.TIMESTAMP, Collections.<String, String>emptyMap(), -1, -1);
+    }
+
+    /**
+     * Slot of {@code key}, or {@code null} if the key has none.
+     */
+    public Slot getSlot(Object key) {
+        return slotsByKey.get(key);
+    }
+
+    Slot getSlot(int ordinal) {
+        return slots[ordinal];
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    int getReferenceCount() {
+        return referenceCount;
+    }
+
+    int getPrimitiveCount() {
+        return primitiveCount;
+    }
+
+    private static List<String> optionValues(List<FormField.FieldOption> options) {
+        if (options == null) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>(options.size());
+        for (FormField.FieldOption option : options) {
+            values.add(option.getValue());
+        }
+        return values;
+    }
+
+    private static Map<String, String> canonical(Collection<String> values) {
+        Map<String, String> canonical = new HashMap<>();
+        for (String value : values) {
+            if (value != null) {
+                canonical.putIfAbsent(value, value);
+            }
+        }
+        return Collections.unmodifiableMap(canonical);
+    }
+
+    public static final class Slot {
+
+        private final String key;
+        private final Kind kind;
+        // Option value -> the one instance every record on this layout shares
+        private final Map<String, String> canonicalValues;
+        private final int ordinal;
+        // Position in the record's primitive or reference array, by kind
+        private final int index;
+
+        private Slot(String key, Kind kind, Map<String, String> canonicalValues, int ordinal, int index) {
+            this.key = key;
+            this.kind = kind;
+            this.canonicalValues = canonicalValues;
+            this.ordinal = ordinal;
+            this.index = index;
+        }
+
+        public String getKey() { return key; }
+
+        public Kind getKind() { return kind; }
+
+        int getOrdinal() { return ordinal; }
+
+        int getIndex() { return index; }
+
+        boolean isPrimitive() {
+            return kind == Kind.NUMBER || kind == Kind.DATE || kind == Kind.TIMESTAMP;
+        }
+
+        /**
+         * The shared instance of an option value, or {@code value} itself if it is not one of the options.
+         */
+        Object canonicalize(Object value) {
+            if (value instanceof String) {
+                String shared = canonicalValues.get(value);
+                return shared != null ? shared : value;
+            }
+            return value;
+        }
+    }
+}
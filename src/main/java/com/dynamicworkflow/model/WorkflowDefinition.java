@@ -12,6 +12,10 @@ public class WorkflowDefinition {
     @JsonProperty("workflowName")
     private String workflowName;
     
+    // BPMN process started for this workflow; defaults to the workflowId
+    @JsonProperty("processDefinitionKey")
+    private String processDefinitionKey;
+    
     @JsonProperty("version")
     private String version;
     
@@ -37,6 +41,9 @@ public class WorkflowDefinition {
     public String getWorkflowName() { return workflowName; }
     public void setWorkflowName(String workflowName) { this.workflowName = workflowName; }
     
+    public String getProcessDefinitionKey() { return processDefinitionKey != null ? processDefinitionKey : workflowId; }
+    public void setProcessDefinitionKey(String processDefinitionKey) { this.processDefinitionKey = processDefinitionKey; }
+    
     public String getVersion() { return version; }
     public void setVersion(String version) { this.version = version; }
     
@@ -14,6 +14,10 @@ public class WorkflowStep {
     @JsonProperty("stepOrder")
     private int stepOrder;
     
+    // Id of the BPMN user task the applicant completes for this step
+    @JsonProperty("activityId")
+    private String activityId;
+    
     @JsonProperty("description")
     private String description;
     
@@ -36,6 +40,9 @@ public class WorkflowStep {
     public int getStepOrder() { return stepOrder; }
     public void setStepOrder(int stepOrder) { this.stepOrder = stepOrder; }
     
+    public String getActivityId() { return activityId; }
+    public void setActivityId(String activityId) { this.activityId = activityId; }
+    
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
     
@@ -0,0 +1,28 @@
+package com.dynamicworkflow.repository;
+
+import com.dynamicworkflow.model.ApplicationSnapshot;
+
+import java.util.Objects;
+
+/**
+ * Published by {@link ApplicationRepository} implementations after an
+ * application is saved or updated. {@code previous} is null for new applications.
+ */
+public class ApplicationChangedEvent {
+
+    private final ApplicationSnapshot previous;
+    private final ApplicationSnapshot current;
+
+    public ApplicationChangedEvent(ApplicationSnapshot previous, ApplicationSnapshot current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public ApplicationSnapshot getPrevious() { return previous; }
+
+    public ApplicationSnapshot getCurrent() { return current; }
+
+    public boolean isStatusChanged() {
+        return previous == null || !Objects.equals(previous.getStatus(), current.getStatus());
+    }
+}
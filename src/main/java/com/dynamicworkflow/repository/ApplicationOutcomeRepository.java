@@ -0,0 +1,153 @@
+package com.dynamicworkflow.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact per-application record of reviewer decisions and the final outcome,
+ * in the APPLICATION_OUTCOME and APPLICATION_DECISION tables on the engine's
+ * DataSource.
+ *
+ * Rows are written from engine listeners inside the engine transaction, so they
+ * commit or roll back with the task completion or process end they describe,
+ * and they outlive history cleanup. Each decision variable is its own row, so
+ * the parallel TL and PM reviews write different rows and never overwrite each
+ * other's decision. Startup recovery reads these two tables instead of querying
+ * historic process and variable instances.
+ */
+@Repository
+public class ApplicationOutcomeRepository {
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS APPLICATION_OUTCOME ("
+            + "APPLICATION_ID VARCHAR(64) PRIMARY KEY, "
+            + "PROCESS_INSTANCE_ID VARCHAR(64), "
+            + "FINAL_STATUS VARCHAR(64), "
+            + "END_ACTIVITY_ID VARCHAR(128), "
+            + "ENDED_AT TIMESTAMP)",
+        "CREATE INDEX IF NOT EXISTS IDX_APP_OUTCOME_STATUS ON APPLICATION_OUTCOME (FINAL_STATUS)",
+        "CREATE TABLE IF NOT EXISTS APPLICATION_DECISION ("
+            + "APPLICATION_ID VARCHAR(64) NOT NULL, "
+            + "NAME VARCHAR(64) NOT NULL, "
+            + "DECISION_VALUE TEXT, "
+            + "PRIMARY KEY (APPLICATION_ID, NAME))"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private String upsertOutcome;
+    private String upsertProcessInstance;
+    private String upsertDecision;
+
+    public ApplicationOutcomeRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        for (String statement : SCHEMA) {
+            jdbcTemplate.execute(statement);
+        }
+        SqlDialect dialect = SqlDialect.of(jdbcTemplate);
+        upsertOutcome = dialect.upsert("APPLICATION_OUTCOME", List.of("APPLICATION_ID"),
+            List.of("APPLICATION_ID", "PROCESS_INSTANCE_ID", "FINAL_STATUS", "END_ACTIVITY_ID", "ENDED_AT"));
+        upsertProcessInstance = dialect.upsert("APPLICATION_OUTCOME", List.of("APPLICATION_ID"),
+            List.of("APPLICATION_ID", "PROCESS_INSTANCE_ID"));
+        upsertDecision = dialect.upsert("APPLICATION_DECISION", List.of("APPLICATION_ID", "NAME"),
+            List.of("APPLICATION_ID", "NAME", "DECISION_VALUE"));
+    }
+
+    /**
+     * Record reviewer decision variables, one row per variable; decisions already
+     * recorded under other names are left as they are.
+     */
+    public void recordDecisions(String applicationId, String processInstanceId, Map<String, Object> decisions) {
+        // Writes only the key and instance id, so it cannot undo a concurrent write of the same row
+        jdbcTemplate.update(upsertProcessInstance, applicationId, processInstanceId);
+
+        List<Object[]> rows = new ArrayList<>(decisions.size());
+        for (Map.Entry<String, Object> decision : decisions.entrySet()) {
+            rows.add(new Object[] { applicationId, decision.getKey(), writeValue(decision.getValue()) });
+        }
+        jdbcTemplate.batchUpdate(upsertDecision, rows);
+    }
+
+    /**
+     * Record the final status once the process instance has ended.
+     */
+    public void recordOutcome(String applicationId, String processInstanceId, String finalStatus,
+                              String endActivityId, long endedAt) {
+        jdbcTemplate.update(upsertOutcome, applicationId, processInstanceId, finalStatus, endActivityId, new Timestamp(endedAt));
+    }
+
+    public List<ApplicationOutcome> findAll() {
+        Map<String, Map<String, Object>> decisionsByApplication = new HashMap<>();
+        jdbcTemplate.query("SELECT APPLICATION_ID, NAME, DECISION_VALUE FROM APPLICATION_DECISION", rs -> {
+            decisionsByApplication.computeIfAbsent(rs.getString("APPLICATION_ID"), id -> new HashMap<>())
+                .put(rs.getString("NAME"), readValue(rs.getString("DECISION_VALUE")));
+        });
+
+        return jdbcTemplate.query(
+            "SELECT APPLICATION_ID, PROCESS_INSTANCE_ID, FINAL_STATUS FROM APPLICATION_OUTCOME",
+            (rs, rowNum) -> new ApplicationOutcome(
+                rs.getString("APPLICATION_ID"),
+                rs.getString("PROCESS_INSTANCE_ID"),
+                rs.getString("FINAL_STATUS"),
+                decisionsByApplication.getOrDefault(rs.getString("APPLICATION_ID"),
+                                                    Collections.<String, Object>emptyMap())));
+    }
+
+    // Values are stored as JSON so they read back with the type they were recorded with
+    private String writeValue(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize decision", e);
+        }
+    }
+
+    private Object readValue(String json) {
+        try {
+            return json != null ? objectMapper.readValue(json, Object.class) : null;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize decision", e);
+        }
+    }
+
+    /**
+     * One APPLICATION_OUTCOME row. {@code finalStatus} is null while the process is still running.
+     */
+    public static final class ApplicationOutcome {
+        private final String applicationId;
+        private final String processInstanceId;
+        private final String finalStatus;
+        private final Map<String, Object> decisions;
+
+        ApplicationOutcome(String applicationId, String processInstanceId, String finalStatus,
+                           Map<String, Object> decisions) {
+            this.applicationId = applicationId;
+            this.processInstanceId = processInstanceId;
+            this.finalStatus = finalStatus;
+            this.decisions = decisions;
+        }
+
+        public String getApplicationId() { return applicationId; }
+
+        public String getProcessInstanceId() { return processInstanceId; }
+
+        public String getFinalStatus() { return finalStatus; }
+
+        public Map<String, Object> getDecisions() { return decisions; }
+    }
+}
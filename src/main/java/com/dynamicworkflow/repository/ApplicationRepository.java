@@ -0,0 +1,42 @@
+package com.dynamicworkflow.repository;
+
+import com.dynamicworkflow.model.ApplicationSnapshot;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Storage for job applications. Implementations are selected with
+ * {@code workflow.store.type} ({@code memory} or {@code jdbc}).
+ *
+ * Every save and update publishes an {@link ApplicationChangedEvent}.
+ */
+public interface ApplicationRepository {
+
+    Optional<ApplicationSnapshot> findById(String applicationId);
+
+    boolean existsById(String applicationId);
+
+    ApplicationSnapshot save(ApplicationSnapshot application);
+
+    /**
+     * Atomically replace an existing application with the result of {@code update}.
+     * Returns the stored snapshot, or empty if the application does not exist.
+     */
+    Optional<ApplicationSnapshot> update(String applicationId, UnaryOperator<ApplicationSnapshot> update);
+
+    List<ApplicationSnapshot> findAll();
+
+    /**
+     * Pass every application to {@code action} without collecting them into a list
+     * first. Applications saved during the iteration may or may not be visited.
+     */
+    void forEach(Consumer<ApplicationSnapshot> action);
+
+    long count();
+
+    Map<String, Long> countByStatus();
+}
@@ -0,0 +1,82 @@
+package com.dynamicworkflow.repository;
+
+import com.dynamicworkflow.model.ApplicationSnapshot;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+@Repository
+@ConditionalOnProperty(name = "workflow.store.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryApplicationRepository implements ApplicationRepository {
+
+    private final Map<String, ApplicationSnapshot> applications = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InMemoryApplicationRepository(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Optional<ApplicationSnapshot> findById(String applicationId) {
+        return Optional.ofNullable(applications.get(applicationId));
+    }
+
+    @Override
+    public boolean existsById(String applicationId) {
+        return applications.containsKey(applicationId);
+    }
+
+    @Override
+    public ApplicationSnapshot save(ApplicationSnapshot application) {
+        ApplicationSnapshot previous = applications.put(application.getApplicationId(), application);
+        eventPublisher.publishEvent(new ApplicationChangedEvent(previous, application));
+        return application;
+    }
+
+    @Override
+    public Optional<ApplicationSnapshot> update(String applicationId, UnaryOperator<ApplicationSnapshot> update) {
+        ApplicationSnapshot[] previous = new ApplicationSnapshot[1];
+        ApplicationSnapshot updated = applications.computeIfPresent(applicationId, (id, current) -> {
+            previous[0] = current;
+            return update.apply(current);
+        });
+        if (updated != null) {
+            eventPublisher.publishEvent(new ApplicationChangedEvent(previous[0], updated));
+        }
+        return Optional.ofNullable(updated);
+    }
+
+    @Override
+    public List<ApplicationSnapshot> findAll() {
+        return new ArrayList<>(applications.values());
+    }
+
+    @Override
+    public void forEach(Consumer<ApplicationSnapshot> action) {
+        // Weakly consistent iteration over the live map: no copy and no ConcurrentModificationException
+        applications.values().forEach(action);
+    }
+
+    @Override
+    public long count() {
+        return applications.size();
+    }
+
+    @Override
+    public Map<String, Long> countByStatus() {
+        Map<String, Long> counts = new HashMap<>();
+        for (ApplicationSnapshot application : applications.values()) {
+            counts.merge(String.valueOf(application.getStatus()), 1L, Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,357 @@
+package com.dynamicworkflow.repository;
+
+import com.dynamicworkflow.model.ApplicationRecord;
+import com.dynamicworkflow.model.ApplicationSnapshot;
+import com.dynamicworkflow.service.WorkflowDefinitionService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Durable application store on the application DataSource (H2 by default).
+ *
+ * Writes go to a pending-write buffer and are flushed to the database in JDBC
+ * batches, either on a fixed interval or as soon as a full batch is pending.
+ * Reads check the pending buffer, then a bounded LRU cache of hot entries, and
+ * only then the database, so heap use does not grow with the number of
+ * applications.
+ *
+ * A save returns once the snapshot is buffered, not once it is in the database:
+ * a crash loses up to {@code workflow.store.flush-interval-ms} of writes the
+ * caller was told had succeeded. At most {@code workflow.store.max-pending}
+ * snapshots are buffered; a save that would exceed that flushes on the caller's
+ * thread first, and fails if the database still cannot be written.
+ */
+@Repository
+@ConditionalOnProperty(name = "workflow.store.type", havingValue = "jdbc")
+public class JdbcApplicationRepository implements ApplicationRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcApplicationRepository.class);
+
+    private static final TypeReference<Map<String, Object>> DATA_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS APPLICATION_STORE ("
+            + "APPLICATION_ID VARCHAR(64) PRIMARY KEY, "
+            + "STATUS VARCHAR(64), "
+            + "POSITION VARCHAR(128), "
+            + "CURRENT_STEP VARCHAR(128), "
+            + "PROCESS_INSTANCE_ID VARCHAR(64), "
+            + "CREATED_AT TIMESTAMP NOT NULL, "
+            + "UPDATED_AT TIMESTAMP NOT NULL, "
+            + "DATA TEXT)",
+        "CREATE INDEX IF NOT EXISTS IDX_APP_STORE_STATUS ON APPLICATION_STORE (STATUS, UPDATED_AT)",
+        "CREATE INDEX IF NOT EXISTS IDX_APP_STORE_POSITION ON APPLICATION_STORE (POSITION)",
+        "CREATE INDEX IF NOT EXISTS IDX_APP_STORE_CREATED ON APPLICATION_STORE (CREATED_AT)",
+        "CREATE INDEX IF NOT EXISTS IDX_APP_STORE_UPDATED ON APPLICATION_STORE (UPDATED_AT)"
+    };
+
+    private static final List<String> COLUMNS = List.of(
+        "APPLICATION_ID", "STATUS", "POSITION", "CURRENT_STEP", "PROCESS_INSTANCE_ID", "CREATED_AT", "UPDATED_AT", "DATA");
+
+    private static final String SELECT = "SELECT APPLICATION_ID, STATUS, CREATED_AT, UPDATED_AT, DATA FROM APPLICATION_STORE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final WorkflowDefinitionService workflowDefinitionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int maxPending;
+    private String upsert;
+
+    // Snapshots saved but not yet flushed; always consulted before the cache and the database
+    private final Map<String, ApplicationSnapshot> pendingWrites = new ConcurrentHashMap<>();
+    private final Map<String, ApplicationSnapshot> hotCache;
+    // ReentrantLock rather than synchronized: lookups under the lock may hit JDBC, which would pin virtual threads
+    private final ReentrantLock[] locks = new ReentrantLock[64];
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Set while a batch-triggered flush is queued, so a burst of saves queues only one
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "application-store-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JdbcApplicationRepository(JdbcTemplate jdbcTemplate,
+                                     ObjectMapper objectMapper,
+                                     WorkflowDefinitionService workflowDefinitionService,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${workflow.store.batch-size:500}") int batchSize,
+                                     @Value("${workflow.store.flush-interval-ms:200}") long flushIntervalMs,
+                                     @Value("${workflow.store.cache-size:10000}") int cacheSize,
+                                     @Value("${workflow.store.max-pending:10000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.workflowDefinitionService = workflowDefinitionService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxPending = Math.max(maxPending, batchSize);
+        this.hotCache = Collections.synchronizedMap(new LinkedHashMap<String, ApplicationSnapshot>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ApplicationSnapshot> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @PostConstruct
+    public void initialize() {
+        for (String statement : SCHEMA) {
+            jdbcTemplate.execute(statement);
+        }
+        upsert = SqlDialect.of(jdbcTemplate).upsert("APPLICATION_STORE", List.of("APPLICATION_ID"), COLUMNS);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("JDBC application store ready: batchSize={}, flushIntervalMs={}, maxPending={}",
+                   batchSize, flushIntervalMs, maxPending);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    @Override
+    public Optional<ApplicationSnapshot> findById(String applicationId) {
+        ApplicationSnapshot application = pendingWrites.get(applicationId);
+        if (application == null) {
+            application = hotCache.get(applicationId);
+        }
+        if (application == null) {
+            List<ApplicationSnapshot> rows = jdbcTemplate.query(SELECT + " WHERE APPLICATION_ID = ?", rowMapper(), applicationId);
+            if (!rows.isEmpty()) {
+                application = rows.get(0);
+                hotCache.put(applicationId, application);
+            }
+        }
+        return Optional.ofNullable(application);
+    }
+
+    @Override
+    public boolean existsById(String applicationId) {
+        if (pendingWrites.containsKey(applicationId) || hotCache.containsKey(applicationId)) {
+            return true;
+        }
+        Integer rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM APPLICATION_STORE WHERE APPLICATION_ID = ?", Integer.class, applicationId);
+        return rows != null && rows > 0;
+    }
+
+    @Override
+    public ApplicationSnapshot save(ApplicationSnapshot application) {
+        ApplicationSnapshot previous;
+        ReentrantLock lock = lockFor(application.getApplicationId());
+        lock.lock();
+        try {
+            previous = pendingWrites.get(application.getApplicationId());
+            if (previous == null) {
+                previous = hotCache.get(application.getApplicationId());
+            }
+            stage(application);
+        } finally {
+            lock.unlock();
+        }
+        eventPublisher.publishEvent(new ApplicationChangedEvent(previous, application));
+        return application;
+    }
+
+    @Override
+    public Optional<ApplicationSnapshot> update(String applicationId, UnaryOperator<ApplicationSnapshot> update) {
+        ApplicationSnapshot current;
+        ApplicationSnapshot updated;
+        ReentrantLock lock = lockFor(applicationId);
+        lock.lock();
+        try {
+            Optional<ApplicationSnapshot> existing = findById(applicationId);
+            if (!existing.isPresent()) {
+                return Optional.empty();
+            }
+            current = existing.get();
+            updated = update.apply(current);
+            stage(updated);
+        } finally {
+            lock.unlock();
+        }
+        eventPublisher.publishEvent(new ApplicationChangedEvent(current, updated));
+        return Optional.of(updated);
+    }
+
+    @Override
+    public List<ApplicationSnapshot> findAll() {
+        flush();
+        return jdbcTemplate.query(SELECT + " ORDER BY CREATED_AT", rowMapper());
+    }
+
+    @Override
+    public void forEach(Consumer<ApplicationSnapshot> action) {
+        flush();
+        RowMapper<ApplicationSnapshot> rowMapper = rowMapper();
+        // Rows are mapped and handed on one at a time as the driver fetches them
+        jdbcTemplate.query(SELECT + " ORDER BY CREATED_AT", rs -> {
+            action.accept(rowMapper.mapRow(rs, rs.getRow()));
+        });
+    }
+
+    @Override
+    public long count() {
+        flush();
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM APPLICATION_STORE", Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    @Override
+    public Map<String, Long> countByStatus() {
+        flush();
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT STATUS, COUNT(*) FROM APPLICATION_STORE GROUP BY STATUS",
+            rs -> {
+                counts.put(String.valueOf(rs.getString(1)), rs.getLong(2));
+            });
+        return counts;
+    }
+
+    /**
+     * Write all pending snapshots to the database in batches.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (pendingWrites.isEmpty()) {
+                return;
+            }
+            List<ApplicationSnapshot> batch = new ArrayList<>(Math.min(pendingWrites.size(), batchSize));
+            for (ApplicationSnapshot application : pendingWrites.values()) {
+                batch.add(application);
+                if (batch.size() == batchSize) {
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void stage(ApplicationSnapshot application) {
+        if (pendingWrites.size() >= maxPending && !pendingWrites.containsKey(application.getApplicationId())) {
+            // Backpressure: the flusher is not keeping up or the database is down
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Application store is unavailable: "
+                    + pendingWrites.size() + " writes are waiting to be flushed", e);
+            }
+        }
+        pendingWrites.put(application.getApplicationId(), application);
+        hotCache.put(application.getApplicationId(), application);
+        if (pendingWrites.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                // Cleared first, so saves staged during this flush can queue the next one
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    private void writeBatch(List<ApplicationSnapshot> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (ApplicationSnapshot application : batch) {
+            rows.add(new Object[] {
+                application.getApplicationId(),
+                application.getStatus(),
+                application.getPosition(),
+                application.getCurrentStep(),
+                application.getProcessInstanceId(),
+                new Timestamp(application.getCreatedAt()),
+                new Timestamp(application.getUpdatedAt()),
+                writeData(application.getData())
+            });
+        }
+        jdbcTemplate.batchUpdate(upsert, rows);
+        // Only drop entries that were not replaced while the batch was being written
+        for (ApplicationSnapshot application : batch) {
+            pendingWrites.remove(application.getApplicationId(), application);
+        }
+        logger.debug("Flushed {} applications to the application store", batch.size());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Failed to flush application store: {}", e.getMessage());
+        }
+    }
+
+    private ReentrantLock lockFor(String applicationId) {
+        return locks[(applicationId.hashCode() & 0x7fffffff) % locks.length];
+    }
+
+    private RowMapper<ApplicationSnapshot> rowMapper() {
+        return (rs, rowNum) -> new ApplicationSnapshot(
+            rs.getString("APPLICATION_ID"),
+            rs.getString("STATUS"),
+            toRecord(readData(rs.getString("DATA"))),
+            rs.getTimestamp("CREATED_AT").getTime(),
+            rs.getTimestamp("UPDATED_AT").getTime()
+        );
+    }
+
+    // Laid out by the version the application is pinned to
+    private ApplicationRecord toRecord(Map<String, Object> data) {
+        String revision = (String) data.get(WorkflowDefinitionService.REVISION_FIELD);
+        return ApplicationRecord.of(workflowDefinitionService.getCompiledWorkflow(revision).getRecordLayout(), data);
+    }
+
+    private String writeData(Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize application data", e);
+        }
+    }
+
+    private Map<String, Object> readData(String json) {
+        try {
+            return json != null ? objectMapper.readValue(json, DATA_TYPE) : Collections.emptyMap();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize application data", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.dynamicworkflow.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox of applicant notifications, in the NOTIFICATION_OUTBOX
+ * table on the engine's DataSource.
+ *
+ * Delegates enqueue inside the engine transaction, so a notice exists exactly
+ * when the task completion or rejection that produced it commits, and nothing
+ * is sent from the transaction itself. The dispatcher reads due rows in id
+ * order and marks them sent, rescheduled or failed.
+ */
+@Repository
+public class NotificationOutboxRepository {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS NOTIFICATION_OUTBOX ("
+            + "ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+            + "APPLICATION_ID VARCHAR(64), "
+            + "KIND VARCHAR(32) NOT NULL, "
+            + "RECIPIENT VARCHAR(255) NOT NULL, "
+            + "SUBJECT VARCHAR(255), "
+            + "BODY TEXT, "
+            + "STATUS VARCHAR(16) NOT NULL, "
+            + "ATTEMPTS INT DEFAULT 0 NOT NULL, "
+            + "CREATED_AT TIMESTAMP NOT NULL, "
+            + "NEXT_ATTEMPT_AT TIMESTAMP NOT NULL, "
+            + "SENT_AT TIMESTAMP, "
+            + "LAST_ERROR VARCHAR(1000))",
+        "CREATE INDEX IF NOT EXISTS IDX_OUTBOX_DUE ON NOTIFICATION_OUTBOX (STATUS, NEXT_ATTEMPT_AT)"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        for (String statement : SCHEMA) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+
+    /**
+     * Queue a notification; joins the caller's transaction.
+     */
+    public void enqueue(String applicationId, String kind, String recipient, String subject, String body) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update("INSERT INTO NOTIFICATION_OUTBOX "
+            + "(APPLICATION_ID, KIND, RECIPIENT, SUBJECT, BODY, STATUS, ATTEMPTS, CREATED_AT, NEXT_ATTEMPT_AT) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)",
+            applicationId, kind, recipient, subject, body, PENDING, now, now);
+    }
+
+    /**
+     * Up to {@code limit} pending notifications that are due, oldest first.
+     */
+    public List<OutboxEntry> findDue(int limit) {
+        return jdbcTemplate.query("SELECT ID, APPLICATION_ID, KIND, RECIPIENT, SUBJECT, BODY, ATTEMPTS, CREATED_AT "
+            + "FROM NOTIFICATION_OUTBOX WHERE STATUS = ? AND NEXT_ATTEMPT_AT <= ? ORDER BY ID LIMIT ?",
+            (rs, rowNum) -> new OutboxEntry(
+                rs.getLong("ID"),
+                rs.getString("APPLICATION_ID"),
+                rs.getString("KIND"),
+                rs.getString("RECIPIENT"),
+                rs.getString("SUBJECT"),
+                rs.getString("BODY"),
+                rs.getInt("ATTEMPTS"),
+                rs.getTimestamp("CREATED_AT").getTime()),
+            PENDING, new Timestamp(System.currentTimeMillis()), limit);
+    }
+
+    /**
+     * Mark delivered notifications in one JDBC batch.
+     */
+    public void markSent(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            rows.add(new Object[] {SENT, now, id});
+        }
+        jdbcTemplate.batchUpdate("UPDATE NOTIFICATION_OUTBOX SET STATUS = ?, SENT_AT = ?, "
+            + "ATTEMPTS = ATTEMPTS + 1, LAST_ERROR = NULL WHERE ID = ?", rows);
+    }
+
+    public void reschedule(long id, long nextAttemptAt, String error) {
+        jdbcTemplate.update("UPDATE NOTIFICATION_OUTBOX SET ATTEMPTS = ATTEMPTS + 1, NEXT_ATTEMPT_AT = ?, "
+            + "LAST_ERROR = ? WHERE ID = ?", new Timestamp(nextAttemptAt), truncate(error), id);
+    }
+
+    public void markFailed(long id, String error) {
+        jdbcTemplate.update("UPDATE NOTIFICATION_OUTBOX SET STATUS = ?, ATTEMPTS = ATTEMPTS + 1, "
+            + "LAST_ERROR = ? WHERE ID = ?", FAILED, truncate(error), id);
+    }
+
+    public long countPending() {
+        Long pending = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM NOTIFICATION_OUTBOX WHERE STATUS = ?", Long.class, PENDING);
+        return pending != null ? pending : 0;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    /**
+     * One queued notification.
+     */
+    public static final class OutboxEntry {
+        private final long id;
+        private final String applicationId;
+        private final String kind;
+        private final String recipient;
+        private final String subject;
+        private final String body;
+        private final int attempts;
+        private final long createdAt;
+
+        OutboxEntry(long id, String applicationId, String kind, String recipient, String subject,
+                    String body, int attempts, long createdAt) {
+            this.id = id;
+            this.applicationId = applicationId;
+            this.kind = kind;
+            this.recipient = recipient;
+            this.subject = subject;
+            this.body = body;
+            this.attempts = attempts;
+            this.createdAt = createdAt;
+        }
+
+        public long getId() { return id; }
+
+        public String getApplicationId() { return applicationId; }
+
+        public String getKind() { return kind; }
+
+        public String getRecipient() { return recipient; }
+
+        public String getSubject() { return subject; }
+
+        public String getBody() { return body; }
+
+        public int getAttempts() { return attempts; }
+
+        public long getCreatedAt() { return createdAt; }
+    }
+}
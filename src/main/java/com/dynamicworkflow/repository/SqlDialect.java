@@ -0,0 +1,68 @@
+package com.dynamicworkflow.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The SQL the application tables need that H2 and PostgreSQL spell differently.
+ *
+ * Table definitions stick to syntax both accept (TEXT, identity columns,
+ * IF NOT EXISTS); only upserts differ. H2 is detected by product name in every
+ * compatibility mode, so the H2 file database of the persistent profile uses
+ * H2's own MERGE even with MODE=PostgreSQL.
+ */
+enum SqlDialect {
+
+    H2 {
+        @Override
+        String upsert(String table, List<String> keyColumns, List<String> columns) {
+            return "MERGE INTO " + table + " (" + String.join(", ", columns) + ") "
+                + "KEY (" + String.join(", ", keyColumns) + ") VALUES (" + placeholders(columns.size()) + ")";
+        }
+    },
+
+    POSTGRESQL {
+        @Override
+        String upsert(String table, List<String> keyColumns, List<String> columns) {
+            List<String> assignments = new ArrayList<>();
+            for (String column : columns) {
+                if (!keyColumns.contains(column)) {
+                    assignments.add(column + " = EXCLUDED." + column);
+                }
+            }
+            return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") "
+                + "VALUES (" + placeholders(columns.size()) + ") "
+                + "ON CONFLICT (" + String.join(", ", keyColumns) + ") "
+                + (assignments.isEmpty() ? "DO NOTHING" : "DO UPDATE SET " + String.join(", ", assignments));
+        }
+    };
+
+    /**
+     * Dialect of the database behind {@code jdbcTemplate}.
+     */
+    static SqlDialect of(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            return H2;
+        }
+        if ("PostgreSQL".equals(product)) {
+            return POSTGRESQL;
+        }
+        throw new IllegalStateException("Unsupported database for the application tables: " + product);
+    }
+
+    /**
+     * Atomic insert-or-update of one row; parameters are bound in the order of {@code columns},
+     * and only the columns listed are written on update.
+     */
+    abstract String upsert(String table, List<String> keyColumns, List<String> columns);
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
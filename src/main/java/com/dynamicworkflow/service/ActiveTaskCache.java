@@ -0,0 +1,99 @@
+package com.dynamicworkflow.service;
+
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application id (the process business key) → the process instance's open
+ * user tasks, maintained from task create, complete and delete events once
+ * the engine transaction commits.
+ *
+ * Step submission completes the cached task by id instead of querying for the
+ * active task. Entries are only ever a hint: a miss, an application with more
+ * than one open task (the parallel review branch), or a cached task that no
+ * longer exists, falls back to the task query.
+ */
+@Component
+public class ActiveTaskCache {
+
+    private final Map<String, List<ActiveTask>> tasks = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onTaskEvent(DelegateTask task) {
+        if (task.getExecution() == null) {
+            return;
+        }
+        String applicationId = task.getExecution().getProcessBusinessKey();
+        if (applicationId == null) {
+            return;
+        }
+
+        if (TaskListener.EVENTNAME_CREATE.equals(task.getEventName())) {
+            ActiveTask activeTask = new ActiveTask(task.getProcessInstanceId(), task.getId(), task.getTaskDefinitionKey());
+            EngineTransactions.afterCommit(() -> tasks.merge(applicationId, List.of(activeTask), ActiveTaskCache::concat));
+        } else if (TaskListener.EVENTNAME_COMPLETE.equals(task.getEventName())
+                || TaskListener.EVENTNAME_DELETE.equals(task.getEventName())) {
+            String taskId = task.getId();
+            EngineTransactions.afterCommit(() -> evict(applicationId, taskId));
+        }
+    }
+
+    /**
+     * The single open task of {@code applicationId}, or {@code null} on a miss or
+     * when several tasks are open.
+     */
+    public ActiveTask get(String applicationId) {
+        List<ActiveTask> open = tasks.get(applicationId);
+        return open != null && open.size() == 1 ? open.get(0) : null;
+    }
+
+    /**
+     * Drop {@code taskId} from the open tasks of {@code applicationId}.
+     */
+    public void evict(String applicationId, String taskId) {
+        tasks.computeIfPresent(applicationId, (id, open) -> {
+            List<ActiveTask> remaining = new ArrayList<>(open.size());
+            for (ActiveTask task : open) {
+                if (!task.getTaskId().equals(taskId)) {
+                    remaining.add(task);
+                }
+            }
+            return remaining.isEmpty() ? null : List.copyOf(remaining);
+        });
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    private static List<ActiveTask> concat(List<ActiveTask> open, List<ActiveTask> created) {
+        List<ActiveTask> all = new ArrayList<>(open);
+        all.addAll(created);
+        return List.copyOf(all);
+    }
+
+    public static final class ActiveTask {
+        private final String processInstanceId;
+        private final String taskId;
+        private final String taskDefinitionKey;
+
+        ActiveTask(String processInstanceId, String taskId, String taskDefinitionKey) {
+            this.processInstanceId = processInstanceId;
+            this.taskId = taskId;
+            this.taskDefinitionKey = taskDefinitionKey;
+        }
+
+        public String getProcessInstanceId() { return processInstanceId; }
+
+        public String getTaskId() { return taskId; }
+
+        public String getTaskDefinitionKey() { return taskDefinitionKey; }
+    }
+}
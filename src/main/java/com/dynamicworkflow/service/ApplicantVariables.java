@@ -0,0 +1,102 @@
+package com.dynamicworkflow.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.variable.Variables;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maps applicant form fields to and from process variables.
+ *
+ * In payload mode (the default) all applicant fields travel as one JSON string
+ * variable, {@value #PAYLOAD_VARIABLE}, so a step submission writes a single
+ * variable row instead of one per field. Reviewer decisions stay primitive
+ * variables because the gateways route on them. Set
+ * {@code workflow.variables.applicant-payload=false} to write one variable per
+ * field, as before. Reads accept either form, so instances started in one mode
+ * continue to work after switching.
+ */
+@Component
+public class ApplicantVariables {
+
+    public static final String PAYLOAD_VARIABLE = "applicantPayload";
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    private final ObjectMapper objectMapper;
+    private final WorkflowDefinitionService workflowDefinitionService;
+    private final boolean payloadMode;
+
+    public ApplicantVariables(ObjectMapper objectMapper,
+                              WorkflowDefinitionService workflowDefinitionService,
+                              @Value("${workflow.variables.applicant-payload:true}") boolean payloadMode) {
+        this.objectMapper = objectMapper;
+        this.workflowDefinitionService = workflowDefinitionService;
+        this.payloadMode = payloadMode;
+    }
+
+    public boolean isPayloadMode() {
+        return payloadMode;
+    }
+
+    /**
+     * Process variables carrying the applicant fields found in {@code data}.
+     */
+    public Map<String, Object> toVariables(Map<String, Object> data) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        String revision = (String) data.get(WorkflowDefinitionService.REVISION_FIELD);
+        for (String fieldId : workflowDefinitionService.getCompiledWorkflow(revision).getFieldIds()) {
+            if (data.containsKey(fieldId)) {
+                fields.put(fieldId, data.get(fieldId));
+            }
+        }
+        if (!payloadMode) {
+            return fields;
+        }
+
+        Map<String, Object> variables = new HashMap<>();
+        try {
+            variables.put(PAYLOAD_VARIABLE, Variables.stringValue(objectMapper.writeValueAsString(fields)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize applicant payload", e);
+        }
+        return variables;
+    }
+
+    /**
+     * Process variables for a step submission: the whole payload rebuilt from the
+     * application's collected data, or only the submitted step's fields.
+     */
+    public Map<String, Object> forStep(Map<String, Object> stepData, Map<String, Object> applicationData) {
+        return toVariables(payloadMode ? applicationData : stepData);
+    }
+
+    /**
+     * Applicant fields of the process instance, from the payload variable or the per-field variables.
+     */
+    public Map<String, Object> read(VariableScope scope) {
+        Object payload = scope.getVariable(PAYLOAD_VARIABLE);
+        if (payload != null) {
+            try {
+                return objectMapper.readValue(payload.toString(), PAYLOAD_TYPE);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to deserialize applicant payload", e);
+            }
+        }
+
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (String fieldId : workflowDefinitionService.getCompiledWorkflow().getFieldIds()) {
+            if (scope.hasVariable(fieldId)) {
+                fields.put(fieldId, scope.getVariable(fieldId));
+            }
+        }
+        return fields;
+    }
+}
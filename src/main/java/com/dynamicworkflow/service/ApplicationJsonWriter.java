@@ -0,0 +1,93 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.model.ApplicationSnapshot;
+import com.dynamicworkflow.repository.ApplicationRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the application store as JSON straight to an output stream.
+ *
+ * Each application is serialized from its immutable snapshot as the repository
+ * hands it over, so nothing proportional to the store size is built in memory
+ * and writers never see a map that a delegate is changing. The output keeps the
+ * shape of the old GET /all response:
+ * {@code {"applications": {id: data}, "statuses": {id: status}, "totalApplications": n}}.
+ * Statuses are read in a second pass, so an application saved while the response
+ * is being written may appear in only one of the two sections.
+ */
+@Component
+public class ApplicationJsonWriter {
+
+    private final ObjectMapper objectMapper;
+    private final ApplicationRepository applicationRepository;
+
+    public ApplicationJsonWriter(ObjectMapper objectMapper, ApplicationRepository applicationRepository) {
+        this.objectMapper = objectMapper;
+        this.applicationRepository = applicationRepository;
+    }
+
+    /**
+     * Write every application. When {@code fields} is not empty only those data
+     * fields are written for each application.
+     */
+    public void writeAll(OutputStream out, Set<String> fields) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The caller owns the stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            long[] total = new long[1];
+
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("applications");
+            applicationRepository.forEach(application -> {
+                try {
+                    generator.writeFieldName(application.getApplicationId());
+                    writeData(generator, application, fields);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                total[0]++;
+            });
+            generator.writeEndObject();
+
+            generator.writeObjectFieldStart("statuses");
+            applicationRepository.forEach(application -> {
+                try {
+                    generator.writeStringField(application.getApplicationId(), application.getStatus());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndObject();
+
+            generator.writeNumberField("totalApplications", total[0]);
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeData(JsonGenerator generator, ApplicationSnapshot application,
+                                  Set<String> fields) throws IOException {
+        Map<String, Object> data = application.getData();
+        if (fields == null || fields.isEmpty()) {
+            generator.writeObject(data);
+            return;
+        }
+        generator.writeStartObject();
+        for (String field : fields) {
+            if (data.containsKey(field)) {
+                generator.writeFieldName(field);
+                generator.writeObject(data.get(field));
+            }
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,291 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.dto.ApplicationPage;
+import com.dynamicworkflow.dto.ApplicationQuery;
+import com.dynamicworkflow.dto.ApplicationSummary;
+import com.dynamicworkflow.model.ApplicationSnapshot;
+import com.dynamicworkflow.repository.ApplicationChangedEvent;
+import com.dynamicworkflow.repository.ApplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory secondary indexes over application summaries, kept current from
+ * {@link ApplicationChangedEvent}s.
+ *
+ * Every index is a sorted id set (newest first), so a query walks only the
+ * smallest matching index from the cursor position and stops after one page,
+ * instead of scanning and serializing every application.
+ */
+@Component
+public class ApplicationQueryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationQueryIndex.class);
+
+    static final int MAX_LIMIT = 500;
+
+    private final ApplicationRepository applicationRepository;
+
+    private final Map<String, ApplicationSummary> summaries = new ConcurrentHashMap<>();
+    private final NavigableSet<IndexKey> all = new ConcurrentSkipListSet<>();
+    private final ValueIndex byStatus = new ValueIndex();
+    private final ValueIndex byPosition = new ValueIndex();
+    private final ValueIndex byCurrentStep = new ValueIndex();
+
+    public ApplicationQueryIndex(ApplicationRepository applicationRepository) {
+        this.applicationRepository = applicationRepository;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        // Picks up applications already in a durable store; later changes arrive as events
+        applicationRepository.forEach(this::index);
+        logger.info("Application query index initialized with {} applications", summaries.size());
+    }
+
+    @EventListener
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        index(event.getCurrent());
+    }
+
+    /**
+     * One page of summaries matching {@code query}, newest first.
+     */
+    public ApplicationPage<ApplicationSummary> query(ApplicationQuery query) {
+        int limit = Math.max(1, Math.min(query.getLimit(), MAX_LIMIT));
+        IndexKey cursor = query.getCursor() != null ? IndexKey.decode(query.getCursor()) : null;
+
+        List<IndexKey> matches = new ArrayList<>(limit + 1);
+        for (NavigableSet<IndexKey> index : drivingIndexes(query)) {
+            collect(index, query, cursor, limit + 1, matches);
+        }
+        if (matches.size() > 1) {
+            // Status indexes are disjoint, so a merge of their first pages needs no de-duplication
+            Collections.sort(matches);
+        }
+
+        List<ApplicationSummary> items = new ArrayList<>(Math.min(matches.size(), limit));
+        String nextCursor = null;
+        for (IndexKey key : matches) {
+            if (items.size() == limit) {
+                nextCursor = items.isEmpty() ? null : IndexKey.of(items.get(items.size() - 1)).encode();
+                break;
+            }
+            ApplicationSummary summary = summaries.get(key.applicationId);
+            if (summary != null) {
+                items.add(summary);
+            }
+        }
+        return new ApplicationPage<>(items, nextCursor);
+    }
+
+    /**
+     * Same as {@link #query} but returns the full stored data of each application on the page.
+     */
+    public ApplicationPage<Map<String, Object>> queryFull(ApplicationQuery query) {
+        ApplicationPage<ApplicationSummary> page = query(query);
+        List<Map<String, Object>> items = new ArrayList<>(page.getItems().size());
+        for (ApplicationSummary summary : page.getItems()) {
+            applicationRepository.findById(summary.getApplicationId())
+                .ifPresent(application -> items.add(application.getData()));
+        }
+        return new ApplicationPage<>(items, page.getNextCursor());
+    }
+
+    public int size() {
+        return summaries.size();
+    }
+
+    private void index(ApplicationSnapshot application) {
+        ApplicationSummary summary = ApplicationSummary.of(application);
+        summaries.compute(application.getApplicationId(), (id, existing) -> {
+            if (existing != null && existing.getUpdatedAt() > summary.getUpdatedAt()) {
+                // An older snapshot delivered late; keep the newer entry
+                return existing;
+            }
+            if (existing != null) {
+                IndexKey oldKey = IndexKey.of(existing);
+                all.remove(oldKey);
+                byStatus.remove(existing.getStatus(), oldKey);
+                byPosition.remove(existing.getPosition(), oldKey);
+                byCurrentStep.remove(existing.getCurrentStep(), oldKey);
+            }
+            IndexKey key = IndexKey.of(summary);
+            all.add(key);
+            byStatus.add(summary.getStatus(), key);
+            byPosition.add(summary.getPosition(), key);
+            byCurrentStep.add(summary.getCurrentStep(), key);
+            return summary;
+        });
+    }
+
+    private List<NavigableSet<IndexKey>> drivingIndexes(ApplicationQuery query) {
+        // Drive the scan from the smallest index among the equality filters; the rest are checked per entry.
+        // Sizes come from counters: ConcurrentSkipListSet.size() is a full traversal.
+        List<NavigableSet<IndexKey>> best = Collections.singletonList(all);
+        int bestSize = Integer.MAX_VALUE;
+
+        if (query.getStatuses() != null && !query.getStatuses().isEmpty()) {
+            List<NavigableSet<IndexKey>> statusIndexes = new ArrayList<>(query.getStatuses().size());
+            int size = 0;
+            for (String status : query.getStatuses()) {
+                statusIndexes.add(byStatus.get(status));
+                size += byStatus.size(status);
+            }
+            best = statusIndexes;
+            bestSize = size;
+        }
+        if (query.getPosition() != null && byPosition.size(query.getPosition()) < bestSize) {
+            best = Collections.singletonList(byPosition.get(query.getPosition()));
+            bestSize = byPosition.size(query.getPosition());
+        }
+        if (query.getCurrentStep() != null && byCurrentStep.size(query.getCurrentStep()) < bestSize) {
+            best = Collections.singletonList(byCurrentStep.get(query.getCurrentStep()));
+        }
+        return best;
+    }
+
+    private void collect(NavigableSet<IndexKey> index, ApplicationQuery query, IndexKey cursor,
+                         int max, List<IndexKey> matches) {
+        NavigableSet<IndexKey> view = index;
+        IndexKey createdToKey = query.getCreatedTo() != null ? new IndexKey(query.getCreatedTo(), "") : null;
+        if (cursor != null && (createdToKey == null || cursor.compareTo(createdToKey) >= 0)) {
+            view = index.tailSet(cursor, false);
+        } else if (createdToKey != null) {
+            view = index.tailSet(createdToKey, true);
+        }
+
+        int found = 0;
+        for (IndexKey key : view) {
+            if (query.getCreatedFrom() != null && key.createdAt < query.getCreatedFrom()) {
+                break;
+            }
+            ApplicationSummary summary = summaries.get(key.applicationId);
+            if (summary != null && matches(summary, key, query)) {
+                matches.add(key);
+                if (++found == max) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean matches(ApplicationSummary summary, IndexKey key, ApplicationQuery query) {
+        // The entry may have moved since the key was read from the index, so every filter is re-checked
+        if (summary.getCreatedAt() != key.createdAt) {
+            return false;
+        }
+        if (query.getStatuses() != null && !query.getStatuses().isEmpty()
+                && !query.getStatuses().contains(summary.getStatus())) {
+            return false;
+        }
+        if (query.getPosition() != null && !query.getPosition().equals(summary.getPosition())) {
+            return false;
+        }
+        if (query.getCurrentStep() != null && !query.getCurrentStep().equals(summary.getCurrentStep())) {
+            return false;
+        }
+        if (query.getUpdatedFrom() != null && summary.getUpdatedAt() < query.getUpdatedFrom()) {
+            return false;
+        }
+        return query.getUpdatedTo() == null || summary.getUpdatedAt() <= query.getUpdatedTo();
+    }
+
+    /**
+     * Value -> sorted keys, with a running size per value.
+     */
+    private static final class ValueIndex {
+        private final Map<String, NavigableSet<IndexKey>> keys = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> sizes = new ConcurrentHashMap<>();
+
+        void add(String value, IndexKey key) {
+            if (value != null && keys.computeIfAbsent(value, v -> new ConcurrentSkipListSet<>()).add(key)) {
+                sizes.computeIfAbsent(value, v -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+
+        void remove(String value, IndexKey key) {
+            if (value != null) {
+                NavigableSet<IndexKey> valueKeys = keys.get(value);
+                if (valueKeys != null && valueKeys.remove(key)) {
+                    sizes.get(value).decrementAndGet();
+                }
+            }
+        }
+
+        NavigableSet<IndexKey> get(String value) {
+            return keys.getOrDefault(value, Collections.emptyNavigableSet());
+        }
+
+        int size(String value) {
+            AtomicInteger size = sizes.get(value);
+            return size != null ? size.get() : 0;
+        }
+    }
+
+    /**
+     * Sort key: creation time descending, then application id.
+     */
+    static final class IndexKey implements Comparable<IndexKey> {
+        final long createdAt;
+        final String applicationId;
+
+        IndexKey(long createdAt, String applicationId) {
+            this.createdAt = createdAt;
+            this.applicationId = applicationId;
+        }
+
+        static IndexKey of(ApplicationSummary summary) {
+            return new IndexKey(summary.getCreatedAt(), summary.getApplicationId());
+        }
+
+        String encode() {
+            String raw = createdAt + ":" + applicationId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static IndexKey decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new IndexKey(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        @Override
+        public int compareTo(IndexKey other) {
+            int byTime = Long.compare(other.createdAt, createdAt);
+            return byTime != 0 ? byTime : applicationId.compareTo(other.applicationId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof IndexKey)) {
+                return false;
+            }
+            IndexKey other = (IndexKey) o;
+            return createdAt == other.createdAt && applicationId.equals(other.applicationId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(createdAt) * 31 + applicationId.hashCode();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.repository.ApplicationOutcomeRepository;
+import com.dynamicworkflow.repository.ApplicationOutcomeRepository.ApplicationOutcome;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the application status projection current from Camunda engine events.
+ *
+ * Task create/complete events and the process-instance end history event are
+ * applied to {@link JobApplicationService} once the engine transaction commits,
+ * so reads of the projection never have to query the engine. Open review tasks
+ * are tracked per application, so the parallel team lead / project manager
+ * branch shows as PENDING_TL_AND_PM_REVIEW until one of them completes and then
+ * as the status of the remaining review. Decisions and final
+ * outcomes are also written to {@link ApplicationOutcomeRepository} inside the
+ * engine transaction; {@link #rebuildFromOutcomes()} reads that table and the open
+ * review tasks at startup, so it does not depend on history that cleanup may have removed.
+ */
+@Component
+public class ApplicationStatusProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationStatusProjector.class);
+
+    // Review task definition key -> status while that task is open
+    private static final Map<String, String> REVIEW_TASK_STATUSES = Map.of(
+        "HRReviewTask", "PENDING_HR_REVIEW",
+        "TeamLeadReviewTask", "PENDING_TL_REVIEW",
+        "ProjectManagerReviewTask", "PENDING_PM_REVIEW",
+        "HeadHRReviewTask", "PENDING_HEAD_HR_REVIEW"
+    );
+
+    // Both branches of ParallelReviewGateway open at once
+    static final String PARALLEL_REVIEW_STATUS = "PENDING_TL_AND_PM_REVIEW";
+    private static final Set<String> PARALLEL_REVIEW_TASKS = Set.of("TeamLeadReviewTask", "ProjectManagerReviewTask");
+
+    // End event id -> final application status
+    private static final Map<String, String> END_EVENT_STATUSES = Map.of(
+        "SuccessEndEvent", "ACCEPTED",
+        "RejectionEndEvent", "REJECTED_BY_HR",
+        "TLPMRejectionEndEvent", "REJECTED_BY_TL_PM",
+        "HeadHRRejectionEndEvent", "REJECTED_BY_HEAD_HR"
+    );
+
+    // Reviewer decision variables copied into the application data
+    private static final List<String> DECISION_VARIABLES = Arrays.asList(
+        "hrDecision", "hrComments", "interviewRequired",
+        "tlDecision", "tlComments",
+        "pmDecision", "pmComments",
+        "headHRDecision", "headHRComments", "offerCTC"
+    );
+
+    private final JobApplicationService jobApplicationService;
+    private final ApplicationOutcomeRepository outcomeRepository;
+    private final WorkflowDefinitionService workflowDefinitionService;
+    private final RuntimeService runtimeService;
+    private final TaskService taskService;
+
+    // Application id -> definition keys of its open review tasks (more than one inside the parallel branch)
+    private final Map<String, Set<String>> openReviewTasks = new ConcurrentHashMap<>();
+
+    public ApplicationStatusProjector(JobApplicationService jobApplicationService,
+                                      ApplicationOutcomeRepository outcomeRepository,
+                                      WorkflowDefinitionService workflowDefinitionService,
+                                      ProcessEngine processEngine) {
+        this.jobApplicationService = jobApplicationService;
+        this.outcomeRepository = outcomeRepository;
+        this.workflowDefinitionService = workflowDefinitionService;
+        this.runtimeService = processEngine.getRuntimeService();
+        this.taskService = processEngine.getTaskService();
+    }
+
+    @EventListener
+    public void onTaskEvent(DelegateTask task) {
+        if (task.getExecution() == null) {
+            return;
+        }
+        String applicationId = task.getExecution().getProcessBusinessKey();
+        if (applicationId == null) {
+            return;
+        }
+
+        String taskDefinitionKey = task.getTaskDefinitionKey();
+        boolean reviewTask = REVIEW_TASK_STATUSES.containsKey(taskDefinitionKey);
+        if (TaskListener.EVENTNAME_CREATE.equals(task.getEventName())) {
+            if (reviewTask) {
+                EngineTransactions.afterCommit(() -> reviewTaskOpened(applicationId, taskDefinitionKey));
+            }
+        } else if (TaskListener.EVENTNAME_DELETE.equals(task.getEventName())) {
+            if (reviewTask) {
+                EngineTransactions.afterCommit(() -> reviewTaskClosed(applicationId, taskDefinitionKey));
+            }
+        } else if (TaskListener.EVENTNAME_COMPLETE.equals(task.getEventName())) {
+            Map<String, Object> decisions = new HashMap<>();
+            for (String name : DECISION_VARIABLES) {
+                if (task.hasVariable(name)) {
+                    decisions.put(name, task.getVariable(name));
+                }
+            }
+            if (!decisions.isEmpty()) {
+                outcomeRepository.recordDecisions(applicationId, task.getProcessInstanceId(), decisions);
+                EngineTransactions.afterCommit(() -> jobApplicationService.updateApplicationData(applicationId, decisions));
+            }
+            if (reviewTask) {
+                EngineTransactions.afterCommit(() -> reviewTaskClosed(applicationId, taskDefinitionKey));
+            }
+        }
+    }
+
+    @EventListener
+    public void onHistoryEvent(HistoryEvent event) {
+        if (event instanceof HistoricProcessInstanceEventEntity
+                && event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+            HistoricProcessInstanceEventEntity processInstance = (HistoricProcessInstanceEventEntity) event;
+            String applicationId = processInstance.getBusinessKey();
+            if (applicationId != null) {
+                String finalStatus = resolveFinalStatus(processInstance.getEndActivityId());
+                long endedAt = processInstance.getEndTime() != null
+                    ? processInstance.getEndTime().getTime() : System.currentTimeMillis();
+                outcomeRepository.recordOutcome(applicationId, processInstance.getProcessInstanceId(), finalStatus,
+                    processInstance.getEndActivityId(), endedAt);
+                EngineTransactions.afterCommit(() -> {
+                    openReviewTasks.remove(applicationId);
+                    jobApplicationService.updateApplicationStatus(applicationId, finalStatus, null);
+                });
+            }
+        }
+    }
+
+    /**
+     * Rebuild the projection from the outcome table and the running review tasks.
+     * Runs once at startup with three queries in total; none of them reads the
+     * engine's history tables.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildFromOutcomes() {
+        try {
+            String[] processDefinitionKeys = workflowDefinitionService.getProcessDefinitionKeys().toArray(new String[0]);
+            Map<String, String> businessKeys = new HashMap<>();
+            for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery()
+                    .processDefinitionKeyIn(processDefinitionKeys)
+                    .list()) {
+                businessKeys.put(processInstance.getId(), processInstance.getBusinessKey());
+            }
+
+            // One query for the open tasks of every instance, grouped by application
+            Map<String, Set<String>> openTasksByApplication = new HashMap<>();
+            for (Task task : taskService.createTaskQuery()
+                    .processDefinitionKeyIn(processDefinitionKeys)
+                    .active()
+                    .list()) {
+                String applicationId = businessKeys.get(task.getProcessInstanceId());
+                if (applicationId != null && REVIEW_TASK_STATUSES.containsKey(task.getTaskDefinitionKey())) {
+                    openTasksByApplication.computeIfAbsent(applicationId, id -> new HashSet<>())
+                        .add(task.getTaskDefinitionKey());
+                }
+            }
+            Map<String, String> openStatusByApplication = new HashMap<>();
+            openTasksByApplication.forEach((applicationId, taskKeys) -> {
+                Set<String> keys = ConcurrentHashMap.newKeySet();
+                keys.addAll(taskKeys);
+                openReviewTasks.put(applicationId, keys);
+                openStatusByApplication.put(applicationId, reviewStatus(taskKeys));
+            });
+
+            int rebuilt = 0;
+            List<ApplicationOutcome> outcomes = outcomeRepository.findAll();
+            for (ApplicationOutcome outcome : outcomes) {
+                String applicationId = outcome.getApplicationId();
+                if (!jobApplicationService.hasApplication(applicationId)) {
+                    continue;
+                }
+                if (!outcome.getDecisions().isEmpty()) {
+                    jobApplicationService.updateApplicationData(applicationId, outcome.getDecisions());
+                }
+                if (outcome.getFinalStatus() != null) {
+                    jobApplicationService.updateApplicationStatus(applicationId, outcome.getFinalStatus(), null);
+                    openStatusByApplication.remove(applicationId);
+                }
+                rebuilt++;
+            }
+
+            for (Map.Entry<String, String> open : openStatusByApplication.entrySet()) {
+                if (jobApplicationService.hasApplication(open.getKey())) {
+                    jobApplicationService.updateApplicationStatus(open.getKey(), open.getValue(), null);
+                    rebuilt++;
+                }
+            }
+
+            logger.info("Rebuilt application status projection: {} recorded outcomes, {} open review tasks, {} applications updated",
+                       outcomes.size(), openStatusByApplication.size(), rebuilt);
+        } catch (Exception e) {
+            logger.warn("Failed to rebuild application status projection: {}", e.getMessage());
+        }
+    }
+
+    private void reviewTaskOpened(String applicationId, String taskDefinitionKey) {
+        // Updated inside compute so concurrent events of one application apply in order
+        openReviewTasks.compute(applicationId, (id, taskKeys) -> {
+            Set<String> keys = taskKeys != null ? taskKeys : ConcurrentHashMap.newKeySet();
+            keys.add(taskDefinitionKey);
+            jobApplicationService.updateApplicationStatus(applicationId, reviewStatus(keys), null);
+            return keys;
+        });
+    }
+
+    private void reviewTaskClosed(String applicationId, String taskDefinitionKey) {
+        openReviewTasks.computeIfPresent(applicationId, (id, keys) -> {
+            keys.remove(taskDefinitionKey);
+            if (keys.isEmpty()) {
+                // The next task or the process end sets the status
+                return null;
+            }
+            jobApplicationService.updateApplicationStatus(applicationId, reviewStatus(keys), null);
+            return keys;
+        });
+    }
+
+    /**
+     * Status for a set of open review tasks: PENDING_TL_AND_PM_REVIEW while both
+     * parallel reviews are open, otherwise the status of the remaining task.
+     */
+    static String reviewStatus(Set<String> openTaskKeys) {
+        if (openTaskKeys.containsAll(PARALLEL_REVIEW_TASKS)) {
+            return PARALLEL_REVIEW_STATUS;
+        }
+        for (String taskKey : openTaskKeys) {
+            String status = REVIEW_TASK_STATUSES.get(taskKey);
+            if (status != null) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    private String resolveFinalStatus(String endActivityId) {
+        return END_EVENT_STATUSES.getOrDefault(endActivityId, "COMPLETED");
+    }
+}
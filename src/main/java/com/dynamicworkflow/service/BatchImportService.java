@@ -0,0 +1,323 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.dto.BatchImportResult;
+import com.dynamicworkflow.metrics.WorkflowMetrics;
+import com.dynamicworkflow.model.ApplicationSnapshot;
+import com.dynamicworkflow.repository.ApplicationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.UserTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports complete applications from NDJSON, one application per line.
+ *
+ * Each record holds the applicant fields of every step. Lines are parsed one
+ * at a time, so a malformed line is reported as INVALID and the import goes on
+ * with the next one. Records are validated in parallel against the compiled
+ * step plans, and the valid ones of a chunk are started together in one engine
+ * transaction, directly after the user task of the workflow's last step
+ * ({@code activityId} in the definition), so they land in HR review without the
+ * per-step task round trips of the interactive path. One result line is
+ * written per non-blank line and flushed after every chunk.
+ */
+@Service
+public class BatchImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchImportService.class);
+
+    // Optional caller-supplied reference echoed back in the result line
+    static final String EXTERNAL_ID_FIELD = "externalId";
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    private final RuntimeService runtimeService;
+    private final RepositoryService repositoryService;
+    private final WorkflowDefinitionService workflowDefinitionService;
+    private final ApplicationRepository applicationRepository;
+    private final WorkflowMetrics workflowMetrics;
+    private final ApplicantVariables applicantVariables;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader recordReader;
+    private final ObjectWriter resultWriter;
+    private final int chunkSize;
+    private final ExecutorService validationExecutor;
+
+    public BatchImportService(ProcessEngine processEngine,
+                              WorkflowDefinitionService workflowDefinitionService,
+                              ApplicationRepository applicationRepository,
+                              WorkflowMetrics workflowMetrics,
+                              ApplicantVariables applicantVariables,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${workflow.batch.chunk-size:200}") int chunkSize,
+                              @Value("${workflow.batch.validation-threads:4}") int validationThreads) {
+        this.runtimeService = processEngine.getRuntimeService();
+        this.repositoryService = processEngine.getRepositoryService();
+        this.workflowDefinitionService = workflowDefinitionService;
+        this.applicationRepository = applicationRepository;
+        this.workflowMetrics = workflowMetrics;
+        this.applicantVariables = applicantVariables;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recordReader = objectMapper.readerFor(RECORD_TYPE);
+        this.resultWriter = objectMapper.writerFor(BatchImportResult.class);
+        this.chunkSize = Math.max(1, chunkSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.validationExecutor = Executors.newFixedThreadPool(Math.max(1, validationThreads), runnable -> {
+            Thread thread = new Thread(runnable, "batch-validation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationExecutor.shutdown();
+    }
+
+    /**
+     * The workflow a batch is imported into: {@code workflowId}, or the default workflow
+     * when null. Throws IllegalArgumentException if no such workflow is registered, or if
+     * its last step names no user task of the deployed process to start after.
+     */
+    public CompiledWorkflow resolveWorkflow(String workflowId) {
+        CompiledWorkflow workflow = workflowId != null
+            ? workflowDefinitionService.findWorkflow(workflowId) : workflowDefinitionService.getCompiledWorkflow();
+        if (workflow == null) {
+            throw new IllegalArgumentException("Unknown workflow: " + workflowId);
+        }
+        lastApplicantActivity(workflow);
+        return workflow;
+    }
+
+    /**
+     * Read NDJSON records from {@code in} and write one result line per non-blank line to {@code out}.
+     */
+    public void importApplications(CompiledWorkflow workflow, InputStream in, OutputStream out) throws IOException {
+        String lastActivity = lastApplicantActivity(workflow);
+        List<BatchRecord> chunk = new ArrayList<>(chunkSize);
+        int line = 0;
+        int imported = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.trim().isEmpty()) {
+                continue;
+            }
+
+            BatchRecord record;
+            try {
+                record = new BatchRecord(line, recordReader.readValue(text));
+            } catch (JsonProcessingException e) {
+                // Reported on its own result line; the next line is parsed independently
+                record = new BatchRecord(line, null);
+                record.result.setStatus(BatchImportResult.INVALID);
+                record.result.setErrors(List.of("Malformed JSON: " + e.getOriginalMessage()));
+            }
+            chunk.add(record);
+
+            if (chunk.size() == chunkSize) {
+                imported += processChunk(workflow, lastActivity, chunk, out);
+                chunk.clear();
+            }
+        }
+        imported += processChunk(workflow, lastActivity, chunk, out);
+
+        logger.info("Batch import finished: {} lines read, {} imported", line, imported);
+    }
+
+    private int processChunk(CompiledWorkflow workflow, String lastActivity, List<BatchRecord> chunk,
+                             OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        // Validation is pure CPU work against the immutable plans, so it runs in parallel
+        List<CompletableFuture<Void>> validations = new ArrayList<>(chunk.size());
+        for (BatchRecord record : chunk) {
+            if (record.result.getStatus() == null) {
+                validations.add(CompletableFuture.runAsync(() -> validate(workflow, record), validationExecutor));
+            }
+        }
+        CompletableFuture.allOf(validations.toArray(new CompletableFuture[0])).join();
+
+        List<BatchRecord> valid = new ArrayList<>(chunk.size());
+        for (BatchRecord record : chunk) {
+            if (record.result.getStatus() == null) {
+                valid.add(record);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            String processDefinitionKey = workflow.getDefinition().getProcessDefinitionKey();
+            String lastStepId = lastStepId(workflow);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (BatchRecord record : valid) {
+                        start(record, processDefinitionKey, lastActivity, lastStepId);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Roll back the chunk and isolate the failing records one by one
+                logger.warn("Batch chunk of {} records failed, retrying individually: {}", valid.size(), e.getMessage());
+                for (BatchRecord record : valid) {
+                    record.processInstance = null;
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> start(record, processDefinitionKey, lastActivity, lastStepId));
+                    } catch (RuntimeException recordFailure) {
+                        record.processInstance = null;
+                        record.result.setStatus(BatchImportResult.FAILED);
+                        record.result.setErrors(List.of(String.valueOf(recordFailure.getMessage())));
+                    }
+                }
+            }
+        }
+
+        int imported = 0;
+        for (BatchRecord record : chunk) {
+            if (record.processInstance != null) {
+                store(record, workflow);
+                imported++;
+            }
+            writeResult(out, record.result);
+        }
+        out.flush();
+        return imported;
+    }
+
+    private void validate(CompiledWorkflow workflow, BatchRecord record) {
+        List<String> errors = new ArrayList<>();
+        for (CompiledWorkflow.StepNode step : workflow.getSteps()) {
+            List<String> stepErrors = new ArrayList<>();
+            step.getValidationPlan().validate(record.fields, stepErrors);
+            if (!stepErrors.isEmpty()) {
+                workflowMetrics.validationFailed(step.getStep().getStepId());
+                errors.addAll(stepErrors);
+            }
+        }
+        if (!errors.isEmpty()) {
+            record.result.setStatus(BatchImportResult.INVALID);
+            record.result.setErrors(errors);
+        }
+    }
+
+    private void start(BatchRecord record, String processDefinitionKey, String lastActivity, String lastStepId) {
+        Map<String, Object> processVariables = applicantVariables.toVariables(record.fields);
+        processVariables.put("applicationId", record.applicationId);
+        processVariables.put("applicationStatus", "PENDING_HR_REVIEW");
+        processVariables.put("validationResult", true);
+        processVariables.put("stepCompleted", lastStepId);
+
+        // Enter the process after the last applicant task, as if every step had been submitted
+        record.processInstance = workflowMetrics.recordEngineCall("runtime.batchStartProcessInstance",
+            () -> runtimeService.createProcessInstanceByKey(processDefinitionKey)
+                .businessKey(record.applicationId)
+                .setVariables(processVariables)
+                .startAfterActivity(lastActivity)
+                .execute());
+    }
+
+    private void store(BatchRecord record, CompiledWorkflow workflow) {
+        long timestamp = System.currentTimeMillis();
+        Map<String, Object> applicationData = new HashMap<>(record.fields);
+        applicationData.remove(EXTERNAL_ID_FIELD);
+        applicationData.put("applicationId", record.applicationId);
+        applicationData.put("applicationStatus", "PENDING_HR_REVIEW");
+        applicationData.put("submissionTimestamp", timestamp);
+        applicationData.put("lastUpdatedTimestamp", timestamp);
+        applicationData.put("lastCompletedStep", lastStepId(workflow));
+        applicationData.put(WorkflowDefinitionService.WORKFLOW_ID_FIELD, workflow.getDefinition().getWorkflowId());
+        applicationData.put(WorkflowDefinitionService.REVISION_FIELD, workflow.getRevision());
+        applicationData.put("currentStep", null);
+        applicationData.put("processInstanceId", record.processInstance.getId());
+        applicationRepository.save(ApplicationSnapshot.create(record.applicationId, "PENDING_HR_REVIEW",
+            workflow.getRecordLayout(), applicationData));
+
+        record.result.setStatus(BatchImportResult.IMPORTED);
+        record.result.setApplicationId(record.applicationId);
+        record.result.setProcessInstanceId(record.processInstance.getId());
+    }
+
+    private void writeResult(OutputStream out, BatchImportResult result) throws IOException {
+        out.write(resultWriter.writeValueAsBytes(result));
+        out.write('\n');
+    }
+
+    // User task of the last step, checked against the deployed process so records never start at the wrong place
+    private String lastApplicantActivity(CompiledWorkflow workflow) {
+        List<CompiledWorkflow.StepNode> steps = workflow.getSteps();
+        String activityId = steps.isEmpty() ? null : steps.get(steps.size() - 1).getStep().getActivityId();
+        String processDefinitionKey = workflow.getDefinition().getProcessDefinitionKey();
+        if (activityId == null) {
+            throw new IllegalArgumentException("Workflow " + workflow.getDefinition().getWorkflowId()
+                + " cannot be batch imported: its last step has no activityId");
+        }
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery()
+            .processDefinitionKey(processDefinitionKey)
+            .latestVersion()
+            .singleResult();
+        BpmnModelInstance model = processDefinition != null
+            ? repositoryService.getBpmnModelInstance(processDefinition.getId()) : null;
+        if (model == null || !(model.getModelElementById(activityId) instanceof UserTask)) {
+            throw new IllegalArgumentException("Workflow " + workflow.getDefinition().getWorkflowId()
+                + " cannot be batch imported: process " + processDefinitionKey + " has no user task " + activityId);
+        }
+        return activityId;
+    }
+
+    private static String lastStepId(CompiledWorkflow workflow) {
+        List<CompiledWorkflow.StepNode> steps = workflow.getSteps();
+        return steps.isEmpty() ? null : steps.get(steps.size() - 1).getStep().getStepId();
+    }
+
+    private static String generateApplicationId() {
+        return "APP-" + System.currentTimeMillis() + "-" +
+               UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    private static final class BatchRecord {
+        final Map<String, Object> fields;
+        final String applicationId = generateApplicationId();
+        final BatchImportResult result;
+        volatile ProcessInstance processInstance;
+
+        BatchRecord(int line, Map<String, Object> fields) {
+            this.fields = fields != null ? fields : new HashMap<>();
+            Object externalId = this.fields.get(EXTERNAL_ID_FIELD);
+            this.result = new BatchImportResult(line, externalId != null ? externalId.toString() : null, null);
+        }
+    }
+}
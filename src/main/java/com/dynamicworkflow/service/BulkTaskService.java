@@ -0,0 +1,211 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.dto.BulkCompleteRequest;
+import com.dynamicworkflow.dto.BulkCompleteResult;
+import com.dynamicworkflow.metrics.WorkflowMetrics;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Completes many review tasks with one set of decision variables.
+ *
+ * Tasks are resolved with one task query per chunk of ids or business keys
+ * rather than one per item, then completed a chunk at a time in one engine
+ * transaction each, so gateway evaluation and the following service tasks of
+ * a whole chunk commit together. When a chunk fails it is rolled back and its
+ * items are retried one by one, so one bad task only fails itself. Results
+ * keep the order of the request.
+ */
+@Service
+public class BulkTaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkTaskService.class);
+
+    private final TaskService taskService;
+    private final RuntimeService runtimeService;
+    private final WorkflowMetrics workflowMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public BulkTaskService(ProcessEngine processEngine,
+                           WorkflowMetrics workflowMetrics,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${workflow.bulk-complete.chunk-size:100}") int chunkSize,
+                           @Value("${workflow.bulk-complete.max-items:5000}") int maxItems) {
+        this.taskService = processEngine.getTaskService();
+        this.runtimeService = processEngine.getRuntimeService();
+        this.workflowMetrics = workflowMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Complete the requested tasks. Throws IllegalArgumentException if the request
+     * names no tasks or more than {@code workflow.bulk-complete.max-items}.
+     */
+    public List<BulkCompleteResult> complete(BulkCompleteRequest request) {
+        List<String> taskIds = request.getTaskIds() != null ? request.getTaskIds() : Collections.<String>emptyList();
+        List<String> businessKeys = request.getBusinessKeys() != null
+            ? request.getBusinessKeys() : Collections.<String>emptyList();
+        int items = taskIds.size() + businessKeys.size();
+        if (items == 0) {
+            throw new IllegalArgumentException("taskIds or businessKeys must not be empty");
+        }
+        if (items > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " tasks per request, got " + items);
+        }
+        Map<String, Object> variables = request.getVariables() != null
+            ? request.getVariables() : Collections.<String, Object>emptyMap();
+
+        List<BulkCompleteResult> results = new ArrayList<>(items);
+        List<BulkCompleteResult> resolved = new ArrayList<>(items);
+        resolveTaskIds(taskIds, results, resolved);
+        resolveBusinessKeys(businessKeys, request.getTaskDefinitionKey(), results, resolved);
+
+        int completed = 0;
+        for (int start = 0; start < resolved.size(); start += chunkSize) {
+            completed += completeChunk(resolved.subList(start, Math.min(start + chunkSize, resolved.size())), variables);
+        }
+
+        logger.info("Bulk completion finished: {} requested, {} completed", items, completed);
+        return results;
+    }
+
+    private void resolveTaskIds(List<String> taskIds, List<BulkCompleteResult> results,
+                                List<BulkCompleteResult> resolved) {
+        Set<String> found = new HashSet<>();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        for (int start = 0; start < distinct.size(); start += chunkSize) {
+            List<String> chunk = distinct.subList(start, Math.min(start + chunkSize, distinct.size()));
+            List<Task> tasks = workflowMetrics.recordEngineCall("task.bulkResolve",
+                () -> taskService.createTaskQuery().taskIdIn(chunk.toArray(new String[0])).active().list());
+            for (Task task : tasks) {
+                found.add(task.getId());
+            }
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (String taskId : taskIds) {
+            BulkCompleteResult result = new BulkCompleteResult(taskId, null);
+            results.add(result);
+            if (!seen.add(taskId)) {
+                fail(result, BulkCompleteResult.FAILED, "Duplicate task id in request");
+            } else if (found.contains(taskId)) {
+                resolved.add(result);
+            } else {
+                fail(result, BulkCompleteResult.NOT_FOUND, "No active task with this id");
+            }
+        }
+    }
+
+    private void resolveBusinessKeys(List<String> businessKeys, String taskDefinitionKey,
+                                     List<BulkCompleteResult> results, List<BulkCompleteResult> resolved) {
+        // Business key -> ids of its matching active tasks
+        Map<String, List<String>> tasksByKey = new HashMap<>();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(businessKeys));
+        for (int start = 0; start < distinct.size(); start += chunkSize) {
+            List<String> chunk = distinct.subList(start, Math.min(start + chunkSize, distinct.size()));
+            TaskQuery query = taskService.createTaskQuery()
+                .processInstanceBusinessKeyIn(chunk.toArray(new String[0]))
+                .active();
+            if (taskDefinitionKey != null) {
+                query.taskDefinitionKey(taskDefinitionKey);
+            }
+            List<Task> tasks = workflowMetrics.recordEngineCall("task.bulkResolve", () -> query.list());
+            if (tasks.isEmpty()) {
+                continue;
+            }
+
+            // Tasks do not carry the business key, so map them back through their process instances
+            Set<String> processInstanceIds = new HashSet<>();
+            for (Task task : tasks) {
+                processInstanceIds.add(task.getProcessInstanceId());
+            }
+            Map<String, String> keysByInstance = new HashMap<>();
+            for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery()
+                    .processInstanceIds(processInstanceIds)
+                    .list()) {
+                keysByInstance.put(processInstance.getId(), processInstance.getBusinessKey());
+            }
+            for (Task task : tasks) {
+                String businessKey = keysByInstance.get(task.getProcessInstanceId());
+                if (businessKey != null) {
+                    tasksByKey.computeIfAbsent(businessKey, key -> new ArrayList<>()).add(task.getId());
+                }
+            }
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (String businessKey : businessKeys) {
+            List<String> tasks = tasksByKey.get(businessKey);
+            BulkCompleteResult result = new BulkCompleteResult(null, businessKey);
+            results.add(result);
+            if (!seen.add(businessKey)) {
+                fail(result, BulkCompleteResult.FAILED, "Duplicate business key in request");
+            } else if (tasks == null) {
+                fail(result, BulkCompleteResult.NOT_FOUND, "No matching active task for this application");
+            } else if (tasks.size() > 1) {
+                // The parallel TL/PM review has two open tasks; the caller must say which one
+                fail(result, BulkCompleteResult.AMBIGUOUS, tasks.size() + " active tasks; set taskDefinitionKey");
+            } else {
+                result.setTaskId(tasks.get(0));
+                resolved.add(result);
+            }
+        }
+    }
+
+    private int completeChunk(List<BulkCompleteResult> chunk, Map<String, Object> variables) {
+        try {
+            workflowMetrics.recordEngineCall("task.bulkComplete", () -> transactionTemplate.executeWithoutResult(status -> {
+                for (BulkCompleteResult result : chunk) {
+                    taskService.complete(result.getTaskId(), variables);
+                }
+            }));
+            for (BulkCompleteResult result : chunk) {
+                result.setStatus(BulkCompleteResult.COMPLETED);
+            }
+            return chunk.size();
+        } catch (RuntimeException e) {
+            // Roll back the chunk and isolate the failing tasks one by one
+            logger.warn("Bulk completion chunk of {} tasks failed, retrying individually: {}", chunk.size(), e.getMessage());
+        }
+
+        int completed = 0;
+        for (BulkCompleteResult result : chunk) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> taskService.complete(result.getTaskId(), variables));
+                result.setStatus(BulkCompleteResult.COMPLETED);
+                completed++;
+            } catch (RuntimeException e) {
+                fail(result, BulkCompleteResult.FAILED, String.valueOf(e.getMessage()));
+            }
+        }
+        return completed;
+    }
+
+    private static void fail(BulkCompleteResult result, String status, String error) {
+        result.setStatus(status);
+        result.setError(error);
+    }
+}
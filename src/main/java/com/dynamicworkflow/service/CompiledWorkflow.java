@@ -0,0 +1,251 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.model.FormField;
+import com.dynamicworkflow.model.RecordLayout;
+import com.dynamicworkflow.model.WorkflowDefinition;
+import com.dynamicworkflow.model.WorkflowStep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable, pre-resolved form of a {@link WorkflowDefinition}.
+ *
+ * Steps are indexed by id and by order, and each {@link StepNode} carries its
+ * next/previous links, first/last flags and {@link ValidationPlan}, so step
+ * lookups on the submission path are a single hash or array access and
+ * allocate nothing. The {@link RecordLayout} for application data on this
+ * version is derived from the field schema here as well.
+ */
+public final class CompiledWorkflow {
+
+    private final WorkflowDefinition definition;
+    private final String revision;
+    private final Map<String, StepNode> stepsById;
+    private final StepNode[] stepsByOrder;
+    private final List<StepNode> orderedSteps;
+    private final Set<String> fieldIds;
+    private final Map<String, Map<String, String>> optionLabels;
+    private final RecordLayout recordLayout;
+
+    private CompiledWorkflow(WorkflowDefinition definition, String revision,
+                             Function<WorkflowStep, ValidationPlan> planFactory) {
+        this.definition = definition;
+        this.revision = revision;
+
+        List<WorkflowStep> steps = definition.getSteps() != null
+            ? definition.getSteps() : Collections.<WorkflowStep>emptyList();
+        int stepCount = steps.size();
+
+        int maxOrder = 0;
+        for (WorkflowStep step : steps) {
+            maxOrder = Math.max(maxOrder, step.getStepOrder());
+        }
+
+        // First occurrence wins for duplicate ids or orders, as with the previous linear scans
+        Map<String, StepNode> byId = new HashMap<>();
+        StepNode[] byOrder = new StepNode[maxOrder + 1];
+        for (WorkflowStep step : steps) {
+            StepNode node = new StepNode(step, planFactory.apply(step),
+                step.getStepOrder() == 1, step.getStepOrder() == stepCount);
+            byId.putIfAbsent(step.getStepId(), node);
+            if (step.getStepOrder() >= 0 && byOrder[step.getStepOrder()] == null) {
+                byOrder[step.getStepOrder()] = node;
+            }
+        }
+
+        for (StepNode node : byId.values()) {
+            int order = node.step.getStepOrder();
+            node.next = find(byOrder, order + 1);
+            node.previous = order - 1 > 0 ? find(byOrder, order - 1) : null;
+        }
+
+        List<StepNode> ordered = new ArrayList<>();
+        Set<String> fields = new LinkedHashSet<>();
+        Map<String, Map<String, String>> labels = new HashMap<>();
+        List<FormField> schema = new ArrayList<>();
+        for (StepNode node : byOrder) {
+            if (node != null) {
+                ordered.add(node);
+                addFieldIds(node.step.getFields(), fields);
+                addFieldIds(node.step.getConditionalFields(), fields);
+                addOptionLabels(node.step.getFields(), labels);
+                addOptionLabels(node.step.getConditionalFields(), labels);
+                addFields(node.step.getFields(), schema);
+                addFields(node.step.getConditionalFields(), schema);
+            }
+        }
+
+        this.stepsById = Collections.unmodifiableMap(byId);
+        this.stepsByOrder = byOrder;
+        this.orderedSteps = Collections.unmodifiableList(ordered);
+        this.fieldIds = Collections.unmodifiableSet(fields);
+        this.optionLabels = Collections.unmodifiableMap(labels);
+        this.recordLayout = recordLayout(definition, revision, byId.keySet(), schema);
+    }
+
+    public static CompiledWorkflow compile(WorkflowDefinition definition) {
+        return new CompiledWorkflow(definition, definition.getVersion(), ValidationPlan::compile);
+    }
+
+    /**
+     * Compile {@code definition} under an explicit revision id, which applications are pinned to.
+     */
+    public static CompiledWorkflow compile(WorkflowDefinition definition, String revision) {
+        return new CompiledWorkflow(definition, revision, ValidationPlan::compile);
+    }
+
+    /**
+     * Same, taking validation plans from {@code planFactory} so identical steps of
+     * different workflows can share one plan.
+     */
+    public static CompiledWorkflow compile(WorkflowDefinition definition, String revision,
+                                           Function<WorkflowStep, ValidationPlan> planFactory) {
+        return new CompiledWorkflow(definition, revision, planFactory);
+    }
+
+    public WorkflowDefinition getDefinition() {
+        return definition;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    /**
+     * All step nodes in step order.
+     */
+    public List<StepNode> getSteps() {
+        return orderedSteps;
+    }
+
+    /**
+     * Ids of every applicant field, conditional fields included, in step order.
+     */
+    public Set<String> getFieldIds() {
+        return fieldIds;
+    }
+
+    /**
+     * Option value → label of a dropdown, radio or checkbox field, or an empty map
+     * if the field has no options.
+     */
+    public Map<String, String> getOptionLabels(String fieldId) {
+        Map<String, String> labels = optionLabels.get(fieldId);
+        return labels != null ? labels : Collections.<String, String>emptyMap();
+    }
+
+    /**
+     * Slot layout of the data of applications pinned to this version.
+     */
+    public RecordLayout getRecordLayout() {
+        return recordLayout;
+    }
+
+    /**
+     * Step node by id, or {@code null} if the workflow has no such step.
+     */
+    public StepNode getStep(String stepId) {
+        return stepId != null ? stepsById.get(stepId) : null;
+    }
+
+    /**
+     * Step node by order, or {@code null} if the workflow has no such step.
+     */
+    public StepNode getStep(int stepOrder) {
+        return find(stepsByOrder, stepOrder);
+    }
+
+    private static void addFieldIds(List<FormField> fields, Set<String> fieldIds) {
+        if (fields != null) {
+            for (FormField field : fields) {
+                fieldIds.add(field.getFieldId());
+            }
+        }
+    }
+
+    private static void addFields(List<FormField> fields, List<FormField> schema) {
+        if (fields != null) {
+            schema.addAll(fields);
+        }
+    }
+
+    // Metadata every application carries, then the form fields in step order
+    private static RecordLayout recordLayout(WorkflowDefinition definition, String revision,
+                                             Set<String> stepIds, List<FormField> schema) {
+        List<RecordLayout.Slot> slots = new ArrayList<>();
+        slots.add(RecordLayout.value("applicationId"));
+        slots.add(RecordLayout.value("applicationStatus"));
+        slots.add(RecordLayout.option("currentStep", stepIds));
+        slots.add(RecordLayout.option("lastCompletedStep", stepIds));
+        slots.add(RecordLayout.value("processInstanceId"));
+        slots.add(RecordLayout.option(WorkflowDefinitionService.WORKFLOW_ID_FIELD,
+            Collections.singletonList(definition.getWorkflowId())));
+        slots.add(RecordLayout.option(WorkflowDefinitionService.REVISION_FIELD, Collections.singletonList(revision)));
+        slots.add(RecordLayout.timestamp("submissionTimestamp"));
+        slots.add(RecordLayout.timestamp("lastUpdatedTimestamp"));
+        for (FormField field : schema) {
+            slots.add(RecordLayout.forField(field));
+        }
+        return new RecordLayout(slots);
+    }
+
+    private static void addOptionLabels(List<FormField> fields, Map<String, Map<String, String>> labels) {
+        if (fields != null) {
+            for (FormField field : fields) {
+                if (field.getOptions() != null && !field.getOptions().isEmpty() && !labels.containsKey(field.getFieldId())) {
+                    Map<String, String> options = new HashMap<>();
+                    for (FormField.FieldOption option : field.getOptions()) {
+                        options.putIfAbsent(option.getValue(), option.getLabel());
+                    }
+                    labels.put(field.getFieldId(), Collections.unmodifiableMap(options));
+                }
+            }
+        }
+    }
+
+    private static StepNode find(StepNode[] byOrder, int order) {
+        return order >= 0 && order < byOrder.length ? byOrder[order] : null;
+    }
+
+    public static final class StepNode {
+
+        private final WorkflowStep step;
+        private final Optional<WorkflowStep> self;
+        private final ValidationPlan validationPlan;
+        private final boolean first;
+        private final boolean last;
+        // Linked once while the enclosing CompiledWorkflow is constructed
+        private StepNode next;
+        private StepNode previous;
+
+        private StepNode(WorkflowStep step, ValidationPlan validationPlan, boolean first, boolean last) {
+            this.step = step;
+            this.self = Optional.of(step);
+            this.validationPlan = validationPlan;
+            this.first = first;
+            this.last = last;
+        }
+
+        public WorkflowStep getStep() { return step; }
+
+        public Optional<WorkflowStep> asOptional() { return self; }
+
+        public ValidationPlan getValidationPlan() { return validationPlan; }
+
+        public StepNode getNext() { return next; }
+
+        public StepNode getPrevious() { return previous; }
+
+        public boolean isFirst() { return first; }
+
+        public boolean isLast() { return last; }
+    }
+}
@@ -0,0 +1,148 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.model.ApplicationSnapshot;
+import com.dynamicworkflow.repository.ApplicationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Pushes application changes to dashboard subscribers over server-sent events.
+ *
+ * Subscribers register for one candidate group. Every dashboard keeps the full
+ * application map it loaded from /all and filters it itself (by status and by
+ * the review decisions recorded so far), so every change is pushed to every
+ * subscribed group; filtering here by review status would leave the other
+ * statuses and the decision counts a dashboard shows stale. Events are fed by
+ * {@link ApplicationChangedEvent}s, so nothing is sent while nothing changes,
+ * apart from a periodic heartbeat that keeps proxies from closing idle
+ * connections.
+ */
+@Service
+public class DashboardEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardEventService.class);
+
+    public static final List<String> GROUPS = Arrays.asList("hr", "managers", "teamlead", "projectmanager", "headhr");
+
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final long emitterTimeoutMs;
+
+    // Sends happen off the caller's thread, in event order, so slow clients never hold up the engine
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DashboardEventService(@Value("${workflow.dashboard.sse-timeout-ms:3600000}") long emitterTimeoutMs) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        for (String group : GROUPS) {
+            subscribers.put(group, new CopyOnWriteArraySet<>());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    /**
+     * Register a dashboard for the events of {@code group}.
+     */
+    public SseEmitter subscribe(String group) {
+        Set<SseEmitter> emitters = subscribers.get(group);
+        if (emitters == null) {
+            throw new IllegalArgumentException("Unknown candidate group: " + group);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+        emitters.add(emitter);
+
+        try {
+            emitter.send(SseEmitter.event().name("ready").data(group));
+        } catch (IOException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        logger.debug("Dashboard subscribed to group {} ({} subscribers)", group, emitters.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount(String group) {
+        Set<SseEmitter> emitters = subscribers.get(group);
+        return emitters != null ? emitters.size() : 0;
+    }
+
+    @EventListener
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        if (subscribers.values().stream().allMatch(Set::isEmpty)) {
+            return;
+        }
+
+        Map<String, Object> payload = payload(event);
+        dispatcher.execute(() -> {
+            for (String group : GROUPS) {
+                send(group, () -> SseEmitter.event()
+                    .name("application")
+                    .id(event.getCurrent().getApplicationId())
+                    .data(payload, MediaType.APPLICATION_JSON));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${workflow.dashboard.heartbeat-ms:30000}")
+    public void heartbeat() {
+        dispatcher.execute(() -> {
+            for (String group : GROUPS) {
+                send(group, () -> SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    // Event builders are single-use, so one is built per emitter
+    private void send(String group, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<SseEmitter> emitters = subscribers.get(group);
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the emitter
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private static Map<String, Object> payload(ApplicationChangedEvent event) {
+        ApplicationSnapshot current = event.getCurrent();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("applicationId", current.getApplicationId());
+        payload.put("status", current.getStatus());
+        payload.put("previousStatus", event.getPrevious() != null ? event.getPrevious().getStatus() : null);
+        payload.put("updatedAt", current.getUpdatedAt());
+        payload.put("application", current.getData());
+        return payload;
+    }
+}
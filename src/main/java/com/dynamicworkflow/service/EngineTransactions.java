@@ -0,0 +1,28 @@
+package com.dynamicworkflow.service;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Helpers for engine listeners that maintain state outside the engine.
+ */
+final class EngineTransactions {
+
+    private EngineTransactions() {
+    }
+
+    /**
+     * Run {@code update} once the current engine transaction has committed, or
+     * immediately when called outside an engine command.
+     */
+    static void afterCommit(Runnable update) {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext == null) {
+            update.run();
+            return;
+        }
+        commandContext.getTransactionContext()
+            .addTransactionListener(TransactionState.COMMITTED, context -> update.run());
+    }
+}
@@ -1,14 +1,16 @@
 package com.dynamicworkflow.service;
 
 import com.dynamicworkflow.dto.ApplicationResponse;
+import com.dynamicworkflow.metrics.WorkflowMetrics;
+import com.dynamicworkflow.model.ApplicationSnapshot;
 import com.dynamicworkflow.model.WorkflowStep;
+import com.dynamicworkflow.repository.ApplicationRepository;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
-import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Task;
-import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -19,7 +21,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JobApplicationService {
@@ -28,31 +29,51 @@ public class JobApplicationService {
     
     private final RuntimeService runtimeService;
     private final TaskService taskService;
-    private final HistoryService historyService;
     private final WorkflowDefinitionService workflowDefinitionService;
     private final ValidationService validationService;
-    
-    // In-memory storage for application data
-    private final Map<String, Map<String, Object>> applicationDataStore = new ConcurrentHashMap<>();
-    private final Map<String, String> applicationStatusStore = new ConcurrentHashMap<>();
+    private final ApplicationRepository applicationRepository;
+    private final WorkflowMetrics workflowMetrics;
+    private final ApplicantVariables applicantVariables;
+    private final ActiveTaskCache activeTaskCache;
     
     public JobApplicationService(ProcessEngine processEngine, 
                                WorkflowDefinitionService workflowDefinitionService,
-                               ValidationService validationService) {
+                               ValidationService validationService,
+                               ApplicationRepository applicationRepository,
+                               WorkflowMetrics workflowMetrics,
+                               ApplicantVariables applicantVariables,
+                               ActiveTaskCache activeTaskCache) {
         this.runtimeService = processEngine.getRuntimeService();
         this.taskService = processEngine.getTaskService();
-        this.historyService = processEngine.getHistoryService();
         this.workflowDefinitionService = workflowDefinitionService;
         this.validationService = validationService;
+        this.applicationRepository = applicationRepository;
+        this.workflowMetrics = workflowMetrics;
+        this.applicantVariables = applicantVariables;
+        this.activeTaskCache = activeTaskCache;
     }
     
     public ApplicationResponse startApplication() {
+        return startApplication(workflowDefinitionService.getDefaultWorkflowId());
+    }
+    
+    /**
+     * Start an application on the current version of {@code workflowId}.
+     * Throws IllegalArgumentException if no such workflow is registered.
+     */
+    public ApplicationResponse startApplication(String workflowId) {
+        // Get the current version of the workflow; the application stays on this version
+        CompiledWorkflow workflow = workflowDefinitionService.findWorkflow(workflowId);
+        if (workflow == null) {
+            throw new IllegalArgumentException("Unknown workflow: " + workflowId);
+        }
+        
         try {
             // Generate unique application ID
             String applicationId = generateApplicationId();
             
-            // Get first step
-            Optional<WorkflowStep> firstStep = workflowDefinitionService.getStepByOrder(1);
+            CompiledWorkflow.StepNode firstNode = workflow.getStep(1);
+            Optional<WorkflowStep> firstStep = firstNode != null ? firstNode.asOptional() : Optional.empty();
             if (!firstStep.isPresent()) {
                 throw new RuntimeException("No first step found in workflow definition");
             }
@@ -61,13 +82,15 @@ public class JobApplicationService {
             Map<String, Object> applicationData = new HashMap<>();
             applicationData.put("applicationId", applicationId);
             applicationData.put("applicationStatus", "STARTED");
-            applicationData.put("submissionTimestamp", LocalDateTime.now().toString());
+            long now = System.currentTimeMillis();
+            applicationData.put("submissionTimestamp", now);
             applicationData.put("currentStep", firstStep.get().getStepId());
-            applicationData.put("lastUpdatedTimestamp", LocalDateTime.now().toString());
+            applicationData.put("lastUpdatedTimestamp", now);
+            applicationData.put(WorkflowDefinitionService.WORKFLOW_ID_FIELD, workflowId);
+            applicationData.put(WorkflowDefinitionService.REVISION_FIELD, workflow.getRevision());
             
-            // Store in memory
-            applicationDataStore.put(applicationId, applicationData);
-            applicationStatusStore.put(applicationId, "STARTED");
+            applicationRepository.save(ApplicationSnapshot.create(applicationId, "STARTED",
+                workflow.getRecordLayout(), applicationData));
             
             // Start BPMN Process Instance
             try {
@@ -76,18 +99,20 @@ public class JobApplicationService {
                 processVariables.put("applicationStatus", "STARTED");
                 processVariables.put("validationResult", true); // Default to true for demo
                 
-                ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
-                    "job-recruitment-workflow-india", 
-                    applicationId, // Use applicationId as business key
-                    processVariables
-                );
+                ProcessInstance processInstance = workflowMetrics.recordEngineCall("runtime.startProcessInstanceByKey",
+                    () -> runtimeService.startProcessInstanceByKey(
+                        workflow.getDefinition().getProcessDefinitionKey(), 
+                        applicationId, // Use applicationId as business key
+                        processVariables
+                    ));
                 
                 logger.info("Started BPMN process instance: {} for application: {}", 
                            processInstance.getId(), applicationId);
                 
                 // Store process instance ID
-                applicationData.put("processInstanceId", processInstance.getId());
-                applicationDataStore.put(applicationId, applicationData);
+                Map<String, Object> processData = new HashMap<>();
+                processData.put("processInstanceId", processInstance.getId());
+                applicationRepository.update(applicationId, application -> application.withChanges(null, processData));
                 
             } catch (Exception e) {
                 logger.warn("Failed to start BPMN process for application {}: {}", applicationId, e.getMessage());
@@ -102,7 +127,7 @@ public class JobApplicationService {
             response.setMessage("Application started successfully");
             response.setTimestamp(LocalDateTime.now());
             
-            logger.info("Started new application: {}", applicationId);
+            logger.info("Started new application: {} on workflow {}", applicationId, workflowId);
             return response;
             
         } catch (Exception e) {
@@ -117,71 +142,92 @@ public class JobApplicationService {
             logger.info("Submitting step {} for application {}", currentStepId, applicationId);
             logger.info("Step data received: {}", stepData);
             
-            // Validate step data
-            Optional<WorkflowStep> currentStep = workflowDefinitionService.getStepById(currentStepId);
-            if (!currentStep.isPresent()) {
+            // Validate step data against the workflow version the application started on
+            String revision = applicationRepository.findById(applicationId)
+                .map(existing -> (String) existing.getData().get(WorkflowDefinitionService.REVISION_FIELD))
+                .orElse(null);
+            CompiledWorkflow workflow = workflowDefinitionService.getCompiledWorkflow(revision);
+            CompiledWorkflow.StepNode currentStep = workflow.getStep(currentStepId);
+            if (currentStep == null) {
                 throw new RuntimeException("Invalid step ID: " + currentStepId);
             }
 
             // Perform validation
-            validationService.validateStepData(currentStep.get(), stepData);
-            
-            // Get existing application data
-            Map<String, Object> applicationData = applicationDataStore.getOrDefault(applicationId, new HashMap<>());
-            logger.info("Existing application data: {}", applicationData);
+            try {
+                validationService.validateStepData(currentStep.getValidationPlan(), stepData);
+            } catch (ValidationService.ValidationException e) {
+                workflowMetrics.validationFailed(currentStepId);
+                throw e;
+            }
             
-            // Merge step data into application data (excluding control fields)
+            // Collect changes: step data (excluding control fields) plus metadata
+            Map<String, Object> applicationData = new HashMap<>();
             stepData.entrySet().stream()
                 .filter(entry -> !entry.getKey().equals("currentStep"))
                 .forEach(entry -> applicationData.put(entry.getKey(), entry.getValue()));
             
             // Update metadata
-            applicationData.put("lastUpdatedTimestamp", LocalDateTime.now().toString());
+            applicationData.put("lastUpdatedTimestamp", System.currentTimeMillis());
             applicationData.put("lastCompletedStep", currentStepId);
             
             // Determine next step
             String nextStepId = null;
             String status = "IN_PROGRESS";
             
-            if (workflowDefinitionService.isLastStep(currentStepId)) {
+            if (currentStep.isLast()) {
                 status = "PENDING_HR_REVIEW";
                 nextStepId = null;
-                applicationData.put("submissionTimestamp", LocalDateTime.now().toString());
+                applicationData.put("submissionTimestamp", System.currentTimeMillis());
                 applicationData.put("applicationStatus", "PENDING_HR_REVIEW");
-                applicationStatusStore.put(applicationId, "PENDING_HR_REVIEW");
                 logger.info("Application {} submitted for HR review", applicationId);
             } else {
-                Optional<WorkflowStep> nextStep = workflowDefinitionService.getNextStep(currentStepId);
-                if (nextStep.isPresent()) {
-                    nextStepId = nextStep.get().getStepId();
+                CompiledWorkflow.StepNode nextStep = currentStep.getNext();
+                if (nextStep != null) {
+                    nextStepId = nextStep.getStep().getStepId();
                 }
                 applicationData.put("currentStep", nextStepId);
-                applicationStatusStore.put(applicationId, "IN_PROGRESS");
                 logger.info("Application {} moving to next step: {}", applicationId, nextStepId);
             }
             
             // Store updated data
-            applicationDataStore.put(applicationId, applicationData);
-            logger.info("Updated application data: {}", applicationData);
+            String newStatus = status;
+            ApplicationSnapshot application = applicationRepository
+                .update(applicationId, existing -> existing.withChanges(newStatus, applicationData))
+                .orElseGet(() -> applicationRepository.save(
+                    ApplicationSnapshot.create(applicationId, newStatus, workflow.getRecordLayout(), applicationData)));
+            logger.info("Updated application data: {}", application.getData());
             
             // Update BPMN Process if exists
             try {
-                String processInstanceId = (String) applicationData.get("processInstanceId");
+                String processInstanceId = application.getProcessInstanceId();
                 if (processInstanceId != null) {
-                    // Find and complete current user task
-                    Task currentTask = taskService.createTaskQuery()
-                        .processInstanceId(processInstanceId)
-                        .active()
-                        .singleResult();
+                    // Set task variables (applicant payload plus routing flags)
+                    Map<String, Object> taskVariables = applicantVariables.forStep(stepData, application.getData());
+                    taskVariables.put("stepCompleted", currentStepId);
+                    taskVariables.put("validationResult", true);
                     
-                    if (currentTask != null) {
-                        // Set task variables and complete
-                        Map<String, Object> taskVariables = new HashMap<>(stepData);
-                        taskVariables.put("stepCompleted", currentStepId);
-                        taskVariables.put("validationResult", true);
-                        
-                        taskService.complete(currentTask.getId(), taskVariables);
-                        logger.info("Completed BPMN task: {} for application: {}", currentTask.getId(), applicationId);
+                    // Complete the cached current task by id; query for it only on a miss
+                    String completedTaskId = completeCachedTask(applicationId, processInstanceId, taskVariables);
+                    if (completedTaskId == null) {
+                        // list() rather than singleResult(): inside the parallel review branch two tasks are open
+                        List<Task> activeTasks = workflowMetrics.recordEngineCall("task.query.active",
+                            () -> taskService.createTaskQuery()
+                                .processInstanceId(processInstanceId)
+                                .active()
+                                .list());
+                        if (activeTasks.size() > 1) {
+                            logger.warn("{} active tasks for process instance {}; not an applicant step",
+                                       activeTasks.size(), processInstanceId);
+                        } else if (!activeTasks.isEmpty()) {
+                            Task currentTask = activeTasks.get(0);
+                            workflowMetrics.recordEngineCall("task.complete",
+                                () -> taskService.complete(currentTask.getId(), taskVariables));
+                            completedTaskId = currentTask.getId();
+                        }
+                    }
+                    
+                    if (completedTaskId != null) {
+                        logger.info("Completed BPMN task: {} for application: {}", completedTaskId, applicationId);
                     } else {
                         logger.warn("No active BPMN task found for process instance: {}", processInstanceId);
                     }
@@ -215,25 +261,46 @@ public class JobApplicationService {
         }
     }
     
+    /**
+     * Complete the task held in {@link ActiveTaskCache} for the application.
+     * Returns the completed task id, or {@code null} when the cache has no usable entry.
+     */
+    private String completeCachedTask(String applicationId, String processInstanceId, Map<String, Object> variables) {
+        ActiveTaskCache.ActiveTask cached = activeTaskCache.get(applicationId);
+        if (cached == null || !cached.getProcessInstanceId().equals(processInstanceId)) {
+            workflowMetrics.taskCacheLookup(false);
+            return null;
+        }
+        try {
+            workflowMetrics.recordEngineCall("task.complete",
+                () -> taskService.complete(cached.getTaskId(), variables));
+            workflowMetrics.taskCacheLookup(true);
+            return cached.getTaskId();
+        } catch (NotFoundException e) {
+            // Completed or deleted elsewhere before its event reached the cache
+            activeTaskCache.evict(applicationId, cached.getTaskId());
+            workflowMetrics.taskCacheLookup(false);
+            return null;
+        }
+    }
+    
     public ApplicationResponse getApplication(String applicationId) {
         try {
             // Get stored application data
-            Map<String, Object> applicationData = applicationDataStore.get(applicationId);
+            ApplicationSnapshot application = applicationRepository.findById(applicationId)
+                .orElseThrow(() -> new RuntimeException("Application not found: " + applicationId));
+            Map<String, Object> applicationData = application.getData();
             
-            if (applicationData == null) {
-                throw new RuntimeException("Application not found: " + applicationId);
-            }
-            
-            String status = applicationStatusStore.getOrDefault(applicationId, "UNKNOWN");
+            String status = application.getStatus() != null ? application.getStatus() : "UNKNOWN";
             
             ApplicationResponse response = new ApplicationResponse();
             response.setApplicationId(applicationId);
             response.setStatus(status);
-            response.setCurrentStep((String) applicationData.get("currentStep"));
+            response.setCurrentStep(application.getCurrentStep());
             response.setMessage("Application retrieved successfully");
             response.setTimestamp(LocalDateTime.now());
             
-            // Return the actual stored data
+            // Snapshot data is an immutable copy, so it can be returned without copying again
             response.setData(applicationData);
             
             logger.info("Retrieved application {}: status={}, dataSize={}", 
@@ -247,199 +314,45 @@ public class JobApplicationService {
         }
     }
     
-    // Add method to get all applications for debugging
-    public Map<String, Object> getAllApplications() {
-        // Sync with Camunda process instances to get latest status
-        syncApplicationStatusWithCamunda();
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("totalApplications", applicationDataStore.size());
-        result.put("applications", applicationDataStore);
-        result.put("statuses", applicationStatusStore);
-        return result;
+    public long countApplications() {
+        return applicationRepository.count();
     }
     
-    // Method to sync application status with Camunda process instances
-    private void syncApplicationStatusWithCamunda() {
-        try {
-            // Get all process instances for our workflow (both active and ended)
-            List<ProcessInstance> activeProcesses = runtimeService.createProcessInstanceQuery()
-                .processDefinitionKey("job-recruitment-workflow-india")
-                .active()
-                .list();
-            
-            // Sync active processes
-            for (ProcessInstance processInstance : activeProcesses) {
-                String applicationId = processInstance.getBusinessKey();
-                if (applicationId != null && applicationDataStore.containsKey(applicationId)) {
-                    try {
-                        // Get process variables
-                        Map<String, Object> processVariables = runtimeService.getVariables(processInstance.getId());
-                        Map<String, Object> appData = applicationDataStore.get(applicationId);
-                        
-                        // Sync HR decision
-                        if (processVariables.containsKey("hrDecision")) {
-                            appData.put("hrDecision", processVariables.get("hrDecision"));
-                            appData.put("hrComments", processVariables.get("hrComments"));
-                            appData.put("interviewRequired", processVariables.get("interviewRequired"));
-                            logger.debug("Synced HR decision for application {}", applicationId);
-                        }
-                        
-                        // Sync Team Lead decision
-                        if (processVariables.containsKey("tlDecision")) {
-                            appData.put("tlDecision", processVariables.get("tlDecision"));
-                            appData.put("tlComments", processVariables.get("tlComments"));
-                            logger.debug("Synced TL decision for application {}", applicationId);
-                        }
-                        
-                        // Sync Project Manager decision
-                        if (processVariables.containsKey("pmDecision")) {
-                            appData.put("pmDecision", processVariables.get("pmDecision"));
-                            appData.put("pmComments", processVariables.get("pmComments"));
-                            logger.debug("Synced PM decision for application {}", applicationId);
-                        }
-                        
-                        // Sync Head HR decision
-                        if (processVariables.containsKey("headHRDecision")) {
-                            appData.put("headHRDecision", processVariables.get("headHRDecision"));
-                            appData.put("headHRComments", processVariables.get("headHRComments"));
-                            appData.put("offerCTC", processVariables.get("offerCTC"));
-                            logger.debug("Synced Head HR decision for application {}", applicationId);
-                        }
-                        
-                        // Update status based on current task
-                        Task currentTask = taskService.createTaskQuery()
-                            .processInstanceId(processInstance.getId())
-                            .active()
-                            .singleResult();
-                        
-                        if (currentTask != null) {
-                            String taskName = currentTask.getName();
-                            String newStatus = appData.get("applicationStatus").toString();
-                            
-                            // Update status based on current task
-                            if (taskName.contains("HR Application Review")) {
-                                newStatus = "PENDING_HR_REVIEW";
-                            } else if (taskName.contains("Team Lead Review")) {
-                                newStatus = "PENDING_TL_REVIEW";
-                            } else if (taskName.contains("Project Manager Review")) {
-                                newStatus = "PENDING_PM_REVIEW";
-                            } else if (taskName.contains("Head HR Final Review")) {
-                                newStatus = "PENDING_HEAD_HR_REVIEW";
-                            }
-                            
-                            appData.put("applicationStatus", newStatus);
-                            applicationStatusStore.put(applicationId, newStatus);
-                            logger.debug("Updated application {} status to: {} (task: {})", 
-                                       applicationId, newStatus, taskName);
-                        }
-                        
-                        appData.put("lastUpdatedTimestamp", LocalDateTime.now().toString());
-                        applicationDataStore.put(applicationId, appData);
-                        
-                    } catch (Exception e) {
-                        logger.warn("Failed to sync process variables for application {}: {}", 
-                                  applicationId, e.getMessage());
-                    }
-                }
-            }
-            
-            // Also check for ended processes using HistoryService
-            List<HistoricProcessInstance> endedProcesses = historyService.createHistoricProcessInstanceQuery()
-                .processDefinitionKey("job-recruitment-workflow-india")
-                .finished()
-                .list();
-            
-            for (HistoricProcessInstance processInstance : endedProcesses) {
-                String applicationId = processInstance.getBusinessKey();
-                if (applicationId != null && applicationDataStore.containsKey(applicationId)) {
-                    try {
-                        Map<String, Object> processVariables = historyService.createHistoricVariableInstanceQuery()
-                            .processInstanceId(processInstance.getId())
-                            .list()
-                            .stream()
-                            .collect(java.util.stream.Collectors.toMap(
-                                v -> v.getName(),
-                                v -> v.getValue()
-                            ));
-                        
-                        Map<String, Object> appData = applicationDataStore.get(applicationId);
-                        
-                        // Sync all decisions
-                        if (processVariables.containsKey("hrDecision")) {
-                            appData.put("hrDecision", processVariables.get("hrDecision"));
-                            appData.put("hrComments", processVariables.get("hrComments"));
-                        }
-                        if (processVariables.containsKey("tlDecision")) {
-                            appData.put("tlDecision", processVariables.get("tlDecision"));
-                            appData.put("tlComments", processVariables.get("tlComments"));
-                        }
-                        if (processVariables.containsKey("pmDecision")) {
-                            appData.put("pmDecision", processVariables.get("pmDecision"));
-                            appData.put("pmComments", processVariables.get("pmComments"));
-                        }
-                        if (processVariables.containsKey("headHRDecision")) {
-                            appData.put("headHRDecision", processVariables.get("headHRDecision"));
-                            appData.put("headHRComments", processVariables.get("headHRComments"));
-                            appData.put("offerCTC", processVariables.get("offerCTC"));
-                        }
-                        
-                        // Determine final status
-                        String finalStatus = "COMPLETED";
-                        if (processVariables.containsKey("headHRDecision")) {
-                            String headHRDecision = (String) processVariables.get("headHRDecision");
-                            finalStatus = "accept".equals(headHRDecision) ? "ACCEPTED" : "REJECTED_BY_HEAD_HR";
-                        } else if (processVariables.containsKey("tlDecision") || processVariables.containsKey("pmDecision")) {
-                            String tlDecision = (String) processVariables.get("tlDecision");
-                            String pmDecision = (String) processVariables.get("pmDecision");
-                            if ("reject".equals(tlDecision) || "reject".equals(pmDecision)) {
-                                finalStatus = "REJECTED_BY_TL_PM";
-                            }
-                        } else if (processVariables.containsKey("hrDecision")) {
-                            String hrDecision = (String) processVariables.get("hrDecision");
-                            if ("reject".equals(hrDecision)) {
-                                finalStatus = "REJECTED_BY_HR";
-                            }
-                        }
-                        
-                        appData.put("applicationStatus", finalStatus);
-                        applicationStatusStore.put(applicationId, finalStatus);
-                        appData.put("lastUpdatedTimestamp", LocalDateTime.now().toString());
-                        
-                        logger.info("Updated completed application {} to final status: {}", applicationId, finalStatus);
-                        
-                    } catch (Exception e) {
-                        logger.warn("Failed to sync ended process for application {}: {}", 
-                                  applicationId, e.getMessage());
-                    }
-                }
-            }
-            
-        } catch (Exception e) {
-            logger.warn("Failed to sync application status with Camunda: {}", e.getMessage());
-        }
+    public boolean hasApplication(String applicationId) {
+        return applicationRepository.existsById(applicationId);
     }
     
     // Method to manually update application status (can be called by Camunda delegates)
     public void updateApplicationStatus(String applicationId, String status, Map<String, Object> additionalData) {
         try {
-            if (applicationDataStore.containsKey(applicationId)) {
-                applicationStatusStore.put(applicationId, status);
-                Map<String, Object> appData = applicationDataStore.get(applicationId);
-                appData.put("applicationStatus", status);
-                appData.put("lastUpdatedTimestamp", LocalDateTime.now().toString());
-                
-                // Add any additional data
-                if (additionalData != null) {
-                    appData.putAll(additionalData);
-                }
-                
+            Map<String, Object> changes = new HashMap<>();
+            changes.put("applicationStatus", status);
+            changes.put("lastUpdatedTimestamp", System.currentTimeMillis());
+            
+            // Add any additional data
+            if (additionalData != null) {
+                changes.putAll(additionalData);
+            }
+            
+            if (applicationRepository.update(applicationId, application -> application.withChanges(status, changes)).isPresent()) {
                 logger.info("Manually updated application {} status to: {}", applicationId, status);
             }
         } catch (Exception e) {
             logger.error("Failed to update application status for {}: {}", applicationId, e.getMessage());
         }
     }
+
+    // Merge reviewer decisions and other engine data without changing the status
+    public void updateApplicationData(String applicationId, Map<String, Object> additionalData) {
+        if (additionalData == null) {
+            return;
+        }
+        Map<String, Object> changes = new HashMap<>(additionalData);
+        changes.put("lastUpdatedTimestamp", System.currentTimeMillis());
+        if (applicationRepository.update(applicationId, application -> application.withChanges(null, changes)).isPresent()) {
+            logger.debug("Updated application {} data: {}", applicationId, additionalData.keySet());
+        }
+    }
     
     private String generateApplicationId() {
         return "APP-" + System.currentTimeMillis() + "-" + 
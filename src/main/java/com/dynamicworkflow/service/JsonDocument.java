@@ -0,0 +1,87 @@
+package com.dynamicworkflow.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON response rendered once: the serialized bytes, an optional gzip
+ * encoding of them and a strong ETag for each representation.
+ *
+ * Workflow definitions and steps are immutable per published version, so the
+ * endpoints serving them write these bytes as they are instead of running
+ * Jackson on every request.
+ */
+public final class JsonDocument {
+
+    private final byte[] json;
+    private final byte[] gzipped;
+    private final String etag;
+    private final String gzipEtag;
+
+    private JsonDocument(byte[] json, byte[] gzipped, String etag) {
+        this.json = json;
+        this.gzipped = gzipped;
+        this.etag = "\"" + etag + "\"";
+        this.gzipEtag = "\"" + etag + "-gzip\"";
+    }
+
+    /**
+     * Wrap {@code json}, pre-compressing it when {@code gzip} is set.
+     */
+    public static JsonDocument of(byte[] json, boolean gzip) {
+        return new JsonDocument(json, gzip ? gzip(json) : null, contentHash(json));
+    }
+
+    public byte[] getJson() { return json; }
+
+    /**
+     * Gzip encoding of the JSON, or {@code null} if it was not pre-compressed.
+     */
+    public byte[] getGzipped() { return gzipped; }
+
+    public String getEtag() { return etag; }
+
+    public String getGzipEtag() { return gzipEtag; }
+
+    /**
+     * Whether an If-None-Match header names either representation of this document.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compress JSON document", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String contentHash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
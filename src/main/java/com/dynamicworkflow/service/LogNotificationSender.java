@@ -0,0 +1,53 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.repository.NotificationOutboxRepository.OutboxEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Local stand-in for a mail gateway: logs each notification and, when
+ * {@code workflow.notifications.log-file} is set, appends it to that file.
+ */
+@Component
+@ConditionalOnProperty(name = "workflow.notifications.sender", havingValue = "log", matchIfMissing = true)
+public class LogNotificationSender implements NotificationSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogNotificationSender.class);
+
+    private final Path logFile;
+
+    public LogNotificationSender(@Value("${workflow.notifications.log-file:}") String logFile) {
+        this.logFile = logFile.isEmpty() ? null : Paths.get(logFile);
+    }
+
+    @Override
+    public void send(OutboxEntry notification) throws IOException {
+        logger.info("Notification {} ({}) for application {} sent to {}: {}", notification.getId(),
+                   notification.getKind(), notification.getApplicationId(), notification.getRecipient(),
+                   notification.getSubject());
+        if (logFile == null) {
+            return;
+        }
+
+        String entry = "--- " + LocalDateTime.now() + " " + notification.getKind()
+            + " to " + notification.getRecipient() + "\n"
+            + "Subject: " + notification.getSubject() + "\n\n"
+            + notification.getBody() + "\n\n";
+        Path directory = logFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Files.write(logFile, entry.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
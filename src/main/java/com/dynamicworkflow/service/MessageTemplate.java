@@ -0,0 +1,276 @@
+package com.dynamicworkflow.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A text template parsed once and bound to one workflow version.
+ *
+ * Syntax:
+ * <ul>
+ *   <li>{@code {{field}}}: the value, or nothing if it is missing</li>
+ *   <li>{@code {{field|label}}}: the option label(s) of a dropdown, radio or
+ *       checkbox field, taken from the workflow definition</li>
+ *   <li>{@code {{field|years}}}: a number of years ("Fresher", "1 Year", "5 Years")</li>
+ *   <li>{@code {{#field}}...{{/field}}}: rendered only when the value is present
+ *       and not blank</li>
+ * </ul>
+ * Formatted values that are missing render as "Not specified". Label lookups
+ * are resolved to the field's label map at compile time, so rendering walks a
+ * segment array and does one map lookup per label.
+ */
+public final class MessageTemplate {
+
+    static final String NOT_SPECIFIED = "Not specified";
+
+    private final String name;
+    private final Segment[] segments;
+    // Largest output so far; buffers start at this size and normally never grow
+    private volatile int sizeHint;
+
+    private MessageTemplate(String name, Segment[] segments, int sizeHint) {
+        this.name = name;
+        this.segments = segments;
+        this.sizeHint = sizeHint;
+    }
+
+    /**
+     * Parse {@code source}, resolving label formatters against {@code workflow}.
+     * Throws IllegalArgumentException on unbalanced sections or unknown formatters.
+     */
+    public static MessageTemplate compile(String name, String source, CompiledWorkflow workflow) {
+        Parser parser = new Parser(name, source, workflow);
+        Segment[] segments = parser.parse(null);
+        return new MessageTemplate(name, segments, parser.literalLength + 64);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String render(Map<String, Object> values) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        render(values, out);
+        if (out.length() > sizeHint) {
+            sizeHint = out.length();
+        }
+        return out.toString();
+    }
+
+    /**
+     * Append the rendered text to {@code out}, so callers can reuse one buffer.
+     */
+    public void render(Map<String, Object> values, StringBuilder out) {
+        renderAll(segments, values, out);
+    }
+
+    private static void renderAll(Segment[] segments, Map<String, Object> values, StringBuilder out) {
+        for (Segment segment : segments) {
+            segment.render(values, out);
+        }
+    }
+
+    private interface Segment {
+        void render(Map<String, Object> values, StringBuilder out);
+    }
+
+    private static final class Literal implements Segment {
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(Map<String, Object> values, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    private static final class Value implements Segment {
+        private final String field;
+
+        Value(String field) {
+            this.field = field;
+        }
+
+        @Override
+        public void render(Map<String, Object> values, StringBuilder out) {
+            Object value = values.get(field);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+    }
+
+    private static final class Label implements Segment {
+        private final String field;
+        private final Map<String, String> labels;
+
+        Label(String field, Map<String, String> labels) {
+            this.field = field;
+            this.labels = labels;
+        }
+
+        @Override
+        public void render(Map<String, Object> values, StringBuilder out) {
+            Object value = values.get(field);
+            if (value instanceof Collection) {
+                Collection<?> selected = (Collection<?>) value;
+                if (selected.isEmpty()) {
+                    out.append(NOT_SPECIFIED);
+                    return;
+                }
+                boolean first = true;
+                for (Object item : selected) {
+                    if (!first) {
+                        out.append(", ");
+                    }
+                    appendLabel(item, out);
+                    first = false;
+                }
+            } else if (value == null) {
+                out.append(NOT_SPECIFIED);
+            } else {
+                appendLabel(value, out);
+            }
+        }
+
+        private void appendLabel(Object value, StringBuilder out) {
+            if (value == null) {
+                return;
+            }
+            String label = labels.get(value.toString());
+            out.append(label != null ? label : value.toString());
+        }
+    }
+
+    private static final class Years implements Segment {
+        private final String field;
+
+        Years(String field) {
+            this.field = field;
+        }
+
+        @Override
+        public void render(Map<String, Object> values, StringBuilder out) {
+            Object value = values.get(field);
+            if (value == null) {
+                out.append(NOT_SPECIFIED);
+                return;
+            }
+            int years;
+            try {
+                years = value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+            } catch (NumberFormatException e) {
+                out.append(value);
+                return;
+            }
+            if (years == 0) {
+                out.append("Fresher");
+            } else if (years == 1) {
+                out.append("1 Year");
+            } else {
+                out.append(years).append(" Years");
+            }
+        }
+    }
+
+    private static final class Section implements Segment {
+        private final String field;
+        private final Segment[] body;
+
+        Section(String field, Segment[] body) {
+            this.field = field;
+            this.body = body;
+        }
+
+        @Override
+        public void render(Map<String, Object> values, StringBuilder out) {
+            Object value = values.get(field);
+            boolean present = value instanceof Collection ? !((Collection<?>) value).isEmpty()
+                : value != null && !value.toString().trim().isEmpty();
+            if (present) {
+                renderAll(body, values, out);
+            }
+        }
+    }
+
+    private static final class Parser {
+        private final String name;
+        private final String source;
+        private final CompiledWorkflow workflow;
+        private int position;
+        private int literalLength;
+
+        Parser(String name, String source, CompiledWorkflow workflow) {
+            this.name = name;
+            this.source = source;
+            this.workflow = workflow;
+        }
+
+        // Parse up to the closing tag of section, or to the end when section is null
+        Segment[] parse(String section) {
+            List<Segment> segments = new ArrayList<>();
+            while (position < source.length()) {
+                int open = source.indexOf("{{", position);
+                if (open < 0) {
+                    addLiteral(segments, source.substring(position));
+                    position = source.length();
+                    break;
+                }
+                int close = source.indexOf("}}", open + 2);
+                if (close < 0) {
+                    throw error("unclosed tag at offset " + open);
+                }
+                addLiteral(segments, source.substring(position, open));
+                String tag = source.substring(open + 2, close).trim();
+                position = close + 2;
+
+                if (tag.startsWith("#")) {
+                    String field = tag.substring(1).trim();
+                    segments.add(new Section(field, parse(field)));
+                } else if (tag.startsWith("/")) {
+                    String field = tag.substring(1).trim();
+                    if (!field.equals(section)) {
+                        throw error("unexpected {{/" + field + "}}");
+                    }
+                    return segments.toArray(new Segment[0]);
+                } else {
+                    segments.add(valueSegment(tag));
+                }
+            }
+            if (section != null) {
+                throw error("missing {{/" + section + "}}");
+            }
+            return segments.toArray(new Segment[0]);
+        }
+
+        private Segment valueSegment(String tag) {
+            int pipe = tag.indexOf('|');
+            if (pipe < 0) {
+                return new Value(tag);
+            }
+            String field = tag.substring(0, pipe).trim();
+            String formatter = tag.substring(pipe + 1).trim();
+            switch (formatter) {
+                case "label": return new Label(field, workflow.getOptionLabels(field));
+                case "years": return new Years(field);
+                default: throw error("unknown formatter '" + formatter + "'");
+            }
+        }
+
+        private void addLiteral(List<Segment> segments, String text) {
+            if (!text.isEmpty()) {
+                segments.add(new Literal(text));
+                literalLength += text.length();
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Template " + name + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.dynamicworkflow.service;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Message templates (HR summary, rejection and acceptance letters) loaded from
+ * {@code workflow.templates.location} as {@code <name>.txt}.
+ *
+ * Each template is compiled once per template text and workflow version, with
+ * its label lookups bound to that version's field options. With a
+ * {@code file:} location, edited templates are picked up without a redeploy:
+ * at most once per {@code workflow.templates.check-interval} the files'
+ * modification times are compared, and a changed template that fails to
+ * compile is rejected while the previous text stays in use.
+ */
+@Service
+public class MessageTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageTemplateService.class);
+
+    public static final String HR_SUMMARY = "hr-summary";
+    public static final String REJECTION_LETTER = "rejection-letter";
+    public static final String ACCEPTANCE_LETTER = "acceptance-letter";
+
+    private final ResourceLoader resourceLoader;
+    private final WorkflowDefinitionService workflowDefinitionService;
+    private final String location;
+    private final long checkIntervalMillis;
+
+    private final Map<String, TemplateSource> sources = new ConcurrentHashMap<>();
+    private volatile long nextCheck;
+
+    public MessageTemplateService(ResourceLoader resourceLoader,
+                                  WorkflowDefinitionService workflowDefinitionService,
+                                  @Value("${workflow.templates.location:classpath:message-templates/}") String location,
+                                  @Value("${workflow.templates.check-interval:5s}") Duration checkInterval) {
+        this.resourceLoader = resourceLoader;
+        this.workflowDefinitionService = workflowDefinitionService;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.checkIntervalMillis = checkInterval.toMillis();
+    }
+
+    /**
+     * Render template {@code name} with the labels of {@code workflow}.
+     */
+    public String render(String name, CompiledWorkflow workflow, Map<String, Object> values) {
+        return getTemplate(name, workflow).render(values);
+    }
+
+    /**
+     * Render template {@code name} with the labels of the workflow that started {@code execution}.
+     */
+    public String render(String name, DelegateExecution execution, Map<String, Object> values) {
+        // Process definition ids have the form key:version:id
+        String definitionId = execution.getProcessDefinitionId();
+        int separator = definitionId != null ? definitionId.indexOf(':') : -1;
+        CompiledWorkflow workflow = workflowDefinitionService.getCompiledWorkflowForProcess(
+            separator > 0 ? definitionId.substring(0, separator) : null);
+        return render(name, workflow, values);
+    }
+
+    public MessageTemplate getTemplate(String name, CompiledWorkflow workflow) {
+        checkForChanges();
+        TemplateSource source = sources.computeIfAbsent(name, this::load);
+        return source.templates.computeIfAbsent(workflow.getRevision(),
+            revision -> MessageTemplate.compile(name, source.text, workflow));
+    }
+
+    private TemplateSource load(String name) {
+        Resource resource = resourceLoader.getResource(location + name + ".txt");
+        try {
+            return new TemplateSource(resource, read(resource), lastModified(resource));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load message template " + name + " from " + location, e);
+        }
+    }
+
+    private void checkForChanges() {
+        long now = System.currentTimeMillis();
+        if (now < nextCheck) {
+            return;
+        }
+        nextCheck = now + checkIntervalMillis;
+
+        for (Map.Entry<String, TemplateSource> entry : sources.entrySet()) {
+            TemplateSource source = entry.getValue();
+            long lastModified = lastModified(source.resource);
+            if (lastModified == source.lastModified) {
+                continue;
+            }
+            try {
+                String text = read(source.resource);
+                // Reject a broken edit before it replaces the working text
+                MessageTemplate.compile(entry.getKey(), text, workflowDefinitionService.getCompiledWorkflow());
+                sources.put(entry.getKey(), new TemplateSource(source.resource, text, lastModified));
+                logger.info("Message template {} reloaded", entry.getKey());
+            } catch (IOException | RuntimeException e) {
+                source.lastModified = lastModified;
+                logger.error("Rejected message template change in {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private static String read(Resource resource) throws IOException {
+        String text = resource.getContentAsString(StandardCharsets.UTF_8);
+        // Editors add a final newline the rendered text should not carry
+        return text.endsWith("\n") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static final class TemplateSource {
+        private final Resource resource;
+        private final String text;
+        private volatile long lastModified;
+        // Workflow revision -> template compiled from this text; a reloaded text starts empty
+        private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+
+        TemplateSource(Resource resource, String text, long lastModified) {
+            this.resource = resource;
+            this.text = text;
+            this.lastModified = lastModified;
+        }
+    }
+}
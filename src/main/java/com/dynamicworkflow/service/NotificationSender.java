@@ -0,0 +1,13 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.repository.NotificationOutboxRepository.OutboxEntry;
+
+/**
+ * Delivers one outbox notification (mail gateway, SMS provider, ...).
+ * Runs on the dispatcher thread, never inside an engine transaction; throw to
+ * have the notification retried with backoff.
+ */
+public interface NotificationSender {
+
+    void send(OutboxEntry notification) throws Exception;
+}
@@ -0,0 +1,170 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.metrics.WorkflowMetrics;
+import com.dynamicworkflow.repository.NotificationOutboxRepository;
+import com.dynamicworkflow.repository.NotificationOutboxRepository.OutboxEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Applicant notifications through the transactional outbox.
+ *
+ * Delegates call {@link #enqueue} inside the engine transaction, which costs
+ * one INSERT. A single dispatcher thread drains due notifications in batches,
+ * paced to {@code workflow.notifications.rate-per-second}, hands each one to
+ * the {@link NotificationSender} and marks the batch sent in one JDBC batch.
+ * Failed deliveries are retried with exponential backoff up to
+ * {@code max-attempts}, then left as FAILED. Delivery is at least once: a
+ * crash between sending and marking a batch resends it.
+ *
+ * One dispatcher per node; with several nodes on one database, enable it
+ * ({@code workflow.notifications.dispatcher-enabled}) on one of them.
+ */
+@Service
+public class NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    public static final String REJECTION = "REJECTION";
+    public static final String ACCEPTANCE = "ACCEPTANCE";
+
+    private final NotificationOutboxRepository outbox;
+    private final NotificationSender sender;
+    private final WorkflowMetrics workflowMetrics;
+    private final boolean dispatcherEnabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long sendIntervalNanos;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long pending;
+    private long nextSendAt = System.nanoTime();
+
+    public NotificationService(NotificationOutboxRepository outbox,
+                               NotificationSender sender,
+                               WorkflowMetrics workflowMetrics,
+                               @Value("${workflow.notifications.dispatcher-enabled:true}") boolean dispatcherEnabled,
+                               @Value("${workflow.notifications.batch-size:100}") int batchSize,
+                               @Value("${workflow.notifications.poll-interval-ms:1000}") long pollIntervalMs,
+                               @Value("${workflow.notifications.rate-per-second:50}") int ratePerSecond,
+                               @Value("${workflow.notifications.max-attempts:5}") int maxAttempts,
+                               @Value("${workflow.notifications.retry-backoff-ms:30000}") long retryBackoffMs) {
+        this.outbox = outbox;
+        this.sender = sender;
+        this.workflowMetrics = workflowMetrics;
+        this.dispatcherEnabled = dispatcherEnabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.sendIntervalNanos = ratePerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ratePerSecond : 0;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        workflowMetrics.registerNotificationQueue(() -> pending);
+        if (dispatcherEnabled) {
+            dispatcher.scheduleWithFixedDelay(this::dispatchQuietly, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+            logger.info("Notification dispatcher started: batchSize={}, pollIntervalMs={}", batchSize, pollIntervalMs);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Queue a notification in the caller's transaction; it is sent after commit.
+     */
+    public void enqueue(String applicationId, String kind, String recipient, String subject, String body) {
+        if (recipient == null || recipient.trim().isEmpty()) {
+            logger.warn("No recipient for {} notification of application {}; not queued", kind, applicationId);
+            return;
+        }
+        outbox.enqueue(applicationId, kind, recipient, subject, body);
+    }
+
+    /**
+     * Send every due notification, one batch at a time.
+     */
+    public void dispatch() {
+        while (!dispatcher.isShutdown()) {
+            List<OutboxEntry> batch = outbox.findDue(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            List<Long> sent = new ArrayList<>(batch.size());
+            for (OutboxEntry notification : batch) {
+                pace();
+                try {
+                    sender.send(notification);
+                    sent.add(notification.getId());
+                    workflowMetrics.notificationSent(notification.getKind(), notification.getCreatedAt());
+                } catch (Exception e) {
+                    retryOrFail(notification, e);
+                }
+            }
+            outbox.markSent(sent);
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        pending = outbox.countPending();
+    }
+
+    private void dispatchQuietly() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            logger.error("Notification dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    private void retryOrFail(OutboxEntry notification, Exception e) {
+        int attempts = notification.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            outbox.markFailed(notification.getId(), e.getMessage());
+            workflowMetrics.notificationFailed(notification.getKind(), false);
+            logger.error("Notification {} for application {} failed after {} attempts: {}",
+                        notification.getId(), notification.getApplicationId(), attempts, e.getMessage());
+        } else {
+            long backoff = retryBackoffMs << Math.min(attempts - 1, 10);
+            outbox.reschedule(notification.getId(), System.currentTimeMillis() + backoff, e.getMessage());
+            workflowMetrics.notificationFailed(notification.getKind(), true);
+            logger.warn("Notification {} for application {} failed (attempt {}), retrying in {} ms: {}",
+                       notification.getId(), notification.getApplicationId(), attempts, backoff, e.getMessage());
+        }
+    }
+
+    // Spaces sends evenly at the configured rate; only the dispatcher thread calls this
+    private void pace() {
+        if (sendIntervalNanos == 0) {
+            return;
+        }
+        long wait = nextSendAt - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+        nextSendAt = Math.max(nextSendAt, System.nanoTime()) + sendIntervalNanos;
+    }
+}
@@ -0,0 +1,286 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.dto.ApplicationPage;
+import com.dynamicworkflow.dto.TaskSummary;
+import com.dynamicworkflow.model.ApplicationSnapshot;
+import com.dynamicworkflow.repository.ApplicationRepository;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.IdentityLink;
+import org.camunda.bpm.engine.task.IdentityLinkType;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Candidate group → open task index, maintained from task create, assignment,
+ * complete and delete events once the engine transaction commits.
+ *
+ * Each group keeps its open tasks ordered by creation time with a running
+ * count, so an inbox page is read from the head of one sorted set and never
+ * touches the engine or the other applications.
+ */
+@Component
+public class TaskInboxIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskInboxIndex.class);
+
+    static final int MAX_LIMIT = 200;
+
+    private final RuntimeService runtimeService;
+    private final TaskService taskService;
+    private final ApplicationRepository applicationRepository;
+    private final WorkflowDefinitionService workflowDefinitionService;
+
+    private final Map<String, TaskSummary> tasks = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<TaskKey>> byGroup = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> groupSizes = new ConcurrentHashMap<>();
+
+    public TaskInboxIndex(ProcessEngine processEngine, ApplicationRepository applicationRepository,
+                          WorkflowDefinitionService workflowDefinitionService) {
+        this.runtimeService = processEngine.getRuntimeService();
+        this.taskService = processEngine.getTaskService();
+        this.applicationRepository = applicationRepository;
+        this.workflowDefinitionService = workflowDefinitionService;
+    }
+
+    @EventListener
+    public void onTaskEvent(DelegateTask task) {
+        String eventName = task.getEventName();
+        if (TaskListener.EVENTNAME_CREATE.equals(eventName)
+                || TaskListener.EVENTNAME_ASSIGNMENT.equals(eventName)
+                || TaskListener.EVENTNAME_UPDATE.equals(eventName)) {
+            TaskSummary summary = summarize(task.getId(), task.getName(), task.getTaskDefinitionKey(),
+                task.getProcessInstanceId(), businessKey(task), task.getAssignee(),
+                task.getCreateTime() != null ? task.getCreateTime().getTime() : System.currentTimeMillis(),
+                candidateGroups(task.getCandidates()));
+            if (!summary.getCandidateGroups().isEmpty()) {
+                EngineTransactions.afterCommit(() -> put(summary));
+            }
+        } else if (TaskListener.EVENTNAME_COMPLETE.equals(eventName)
+                || TaskListener.EVENTNAME_DELETE.equals(eventName)) {
+            String taskId = task.getId();
+            EngineTransactions.afterCommit(() -> remove(taskId));
+        }
+    }
+
+    /**
+     * Load the open tasks that existed before this node started (durable databases only).
+     * Identity links are read per task, which is acceptable once at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            String[] processDefinitionKeys = workflowDefinitionService.getProcessDefinitionKeys().toArray(new String[0]);
+            Map<String, String> businessKeys = new HashMap<>();
+            for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery()
+                    .processDefinitionKeyIn(processDefinitionKeys)
+                    .list()) {
+                businessKeys.put(processInstance.getId(), processInstance.getBusinessKey());
+            }
+
+            for (Task task : taskService.createTaskQuery()
+                    .processDefinitionKeyIn(processDefinitionKeys)
+                    .active()
+                    .list()) {
+                List<String> groups = candidateGroups(taskService.getIdentityLinksForTask(task.getId()));
+                if (!groups.isEmpty()) {
+                    put(summarize(task.getId(), task.getName(), task.getTaskDefinitionKey(),
+                        task.getProcessInstanceId(), businessKeys.get(task.getProcessInstanceId()), task.getAssignee(),
+                        task.getCreateTime().getTime(), groups));
+                }
+            }
+            logger.info("Task inbox index initialized with {} open tasks", tasks.size());
+        } catch (Exception e) {
+            logger.warn("Failed to rebuild task inbox index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * One page of the open tasks of {@code group}, oldest first unless {@code newestFirst}.
+     */
+    public ApplicationPage<TaskSummary> inbox(String group, boolean newestFirst, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        NavigableSet<TaskKey> keys = byGroup.get(group);
+        if (keys == null) {
+            ApplicationPage<TaskSummary> empty = new ApplicationPage<>(new ArrayList<>(), null);
+            empty.setTotal(0L);
+            return empty;
+        }
+
+        NavigableSet<TaskKey> view = newestFirst ? keys.descendingSet() : keys;
+        if (cursor != null) {
+            view = view.tailSet(TaskKey.decode(cursor), false);
+        }
+
+        long now = System.currentTimeMillis();
+        List<TaskSummary> items = new ArrayList<>(pageSize);
+        String nextCursor = null;
+        for (TaskKey key : view) {
+            TaskSummary task = tasks.get(key.taskId);
+            if (task == null) {
+                continue;
+            }
+            if (items.size() == pageSize) {
+                TaskSummary last = items.get(items.size() - 1);
+                nextCursor = new TaskKey(last.getCreatedAt(), last.getTaskId()).encode();
+                break;
+            }
+            items.add(withApplication(task, now));
+        }
+
+        ApplicationPage<TaskSummary> page = new ApplicationPage<>(items, nextCursor);
+        page.setTotal(groupSizes.getOrDefault(group, new AtomicLong()).get());
+        return page;
+    }
+
+    public long countOpenTasks(String group) {
+        AtomicLong size = groupSizes.get(group);
+        return size != null ? size.get() : 0;
+    }
+
+    private void put(TaskSummary summary) {
+        tasks.compute(summary.getTaskId(), (id, existing) -> {
+            if (existing != null) {
+                unindex(existing);
+            }
+            TaskKey key = new TaskKey(summary.getCreatedAt(), summary.getTaskId());
+            for (String group : summary.getCandidateGroups()) {
+                byGroup.computeIfAbsent(group, g -> new ConcurrentSkipListSet<>()).add(key);
+                groupSizes.computeIfAbsent(group, g -> new AtomicLong()).incrementAndGet();
+            }
+            return summary;
+        });
+    }
+
+    private void remove(String taskId) {
+        tasks.computeIfPresent(taskId, (id, existing) -> {
+            unindex(existing);
+            return null;
+        });
+    }
+
+    private void unindex(TaskSummary summary) {
+        TaskKey key = new TaskKey(summary.getCreatedAt(), summary.getTaskId());
+        for (String group : summary.getCandidateGroups()) {
+            NavigableSet<TaskKey> keys = byGroup.get(group);
+            if (keys != null && keys.remove(key)) {
+                groupSizes.get(group).decrementAndGet();
+            }
+        }
+    }
+
+    private TaskSummary withApplication(TaskSummary task, long now) {
+        TaskSummary item = new TaskSummary(task);
+        item.setAgeMillis(now - task.getCreatedAt());
+        if (task.getApplicationId() != null) {
+            Optional<ApplicationSnapshot> application = applicationRepository.findById(task.getApplicationId());
+            application.ifPresent(snapshot -> {
+                Object firstName = snapshot.getData().get("firstName");
+                Object lastName = snapshot.getData().get("lastName");
+                if (firstName != null || lastName != null) {
+                    item.setApplicantName((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : ""));
+                }
+                item.setPosition(snapshot.getPosition());
+                item.setApplicationStatus(snapshot.getStatus());
+            });
+        }
+        return item;
+    }
+
+    private static String businessKey(DelegateTask task) {
+        return task.getExecution() != null ? task.getExecution().getProcessBusinessKey() : null;
+    }
+
+    private static List<String> candidateGroups(Collection<? extends IdentityLink> links) {
+        List<String> groups = new ArrayList<>();
+        for (IdentityLink link : links) {
+            if (IdentityLinkType.CANDIDATE.equals(link.getType()) && link.getGroupId() != null) {
+                groups.add(link.getGroupId());
+            }
+        }
+        return groups;
+    }
+
+    private static TaskSummary summarize(String taskId, String name, String taskDefinitionKey, String processInstanceId,
+                                         String applicationId, String assignee, long createdAt, List<String> groups) {
+        TaskSummary summary = new TaskSummary();
+        summary.setTaskId(taskId);
+        summary.setName(name);
+        summary.setTaskDefinitionKey(taskDefinitionKey);
+        summary.setProcessInstanceId(processInstanceId);
+        summary.setApplicationId(applicationId);
+        summary.setAssignee(assignee);
+        summary.setCreatedAt(createdAt);
+        summary.setCandidateGroups(groups);
+        return summary;
+    }
+
+    /**
+     * Sort key: task creation time, then task id.
+     */
+    static final class TaskKey implements Comparable<TaskKey> {
+        final long createdAt;
+        final String taskId;
+
+        TaskKey(long createdAt, String taskId) {
+            this.createdAt = createdAt;
+            this.taskId = taskId;
+        }
+
+        String encode() {
+            String raw = createdAt + ":" + taskId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TaskKey decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new TaskKey(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        @Override
+        public int compareTo(TaskKey other) {
+            int byTime = Long.compare(createdAt, other.createdAt);
+            return byTime != 0 ? byTime : taskId.compareTo(other.taskId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TaskKey)) {
+                return false;
+            }
+            TaskKey other = (TaskKey) o;
+            return createdAt == other.createdAt && taskId.equals(other.taskId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(createdAt) * 31 + taskId.hashCode();
+        }
+    }
+}
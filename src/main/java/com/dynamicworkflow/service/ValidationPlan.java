@@ -0,0 +1,216 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.model.FormField;
+import com.dynamicworkflow.model.WorkflowStep;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Validation rules of one {@link WorkflowStep}, compiled once when the workflow
+ * definition is loaded. Regexes are compiled, bounds are parsed to primitives,
+ * conditions are resolved to predicates and error messages are pre-built, so
+ * validating a submission does no parsing and no regex compilation.
+ */
+public final class ValidationPlan {
+
+    public enum FieldType {
+        TEXT, NUMBER, DATE, DROPDOWN, RADIO, CHECKBOX, OTHER;
+
+        static FieldType of(String fieldType) {
+            if (fieldType == null) {
+                return OTHER;
+            }
+            switch (fieldType) {
+                case "text": return TEXT;
+                case "number": return NUMBER;
+                case "date": return DATE;
+                case "dropdown": return DROPDOWN;
+                case "radio": return RADIO;
+                case "checkbox": return CHECKBOX;
+                default: return OTHER;
+            }
+        }
+    }
+
+    private static final FieldRule[] NO_FIELDS = new FieldRule[0];
+
+    private final FieldRule[] fields;
+    private final FieldRule[] conditionalFields;
+
+    private ValidationPlan(FieldRule[] fields, FieldRule[] conditionalFields) {
+        this.fields = fields;
+        this.conditionalFields = conditionalFields;
+    }
+
+    public static ValidationPlan compile(WorkflowStep step) {
+        return new ValidationPlan(compileFields(step.getFields()), compileFields(step.getConditionalFields()));
+    }
+
+    /**
+     * Append an error message to {@code errors} for every rule the step data violates.
+     */
+    public void validate(Map<String, Object> stepData, List<String> errors) {
+        for (FieldRule field : fields) {
+            field.validate(stepData, errors);
+        }
+        for (FieldRule field : conditionalFields) {
+            if (field.condition.test(stepData)) {
+                field.validate(stepData, errors);
+            }
+        }
+    }
+
+    private static FieldRule[] compileFields(List<FormField> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return NO_FIELDS;
+        }
+        FieldRule[] rules = new FieldRule[fields.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = new FieldRule(fields.get(i));
+        }
+        return rules;
+    }
+
+    static final class FieldRule {
+
+        private final String fieldId;
+        private final FieldType type;
+        private final boolean required;
+        private final boolean hasValidation;
+        private final Pattern pattern;
+        private final int minLength;
+        private final int maxLength;
+        private final boolean hasMin;
+        private final double min;
+        private final boolean hasMax;
+        private final double max;
+        private final Predicate<Map<String, Object>> condition;
+
+        // Messages are identical to the ones produced before plans were compiled
+        private final String requiredMessage;
+        private final String patternMessage;
+        private final String minLengthMessage;
+        private final String maxLengthMessage;
+        private final String minMessage;
+        private final String maxMessage;
+        private final String numberMessage;
+
+        FieldRule(FormField field) {
+            String fieldName = field.getFieldName();
+            Map<String, Object> validation = field.getValidation();
+
+            this.fieldId = field.getFieldId();
+            this.type = FieldType.of(field.getFieldType());
+            this.required = field.isRequired();
+            this.hasValidation = validation != null;
+            this.pattern = hasValidation && validation.containsKey("pattern")
+                ? compilePattern(field, validation.get("pattern").toString()) : null;
+            this.minLength = hasValidation && validation.containsKey("minLength")
+                ? Integer.parseInt(validation.get("minLength").toString()) : -1;
+            this.maxLength = hasValidation && validation.containsKey("maxLength")
+                ? Integer.parseInt(validation.get("maxLength").toString()) : -1;
+            this.hasMin = hasValidation && validation.containsKey("min");
+            this.min = hasMin ? Double.parseDouble(validation.get("min").toString()) : 0;
+            this.hasMax = hasValidation && validation.containsKey("max");
+            this.max = hasMax ? Double.parseDouble(validation.get("max").toString()) : 0;
+            this.condition = compileCondition(field.getCondition());
+
+            this.requiredMessage = fieldName + " is required";
+            this.patternMessage = fieldName + " format is invalid";
+            this.minLengthMessage = fieldName + " must be at least " + minLength + " characters";
+            this.maxLengthMessage = fieldName + " must not exceed " + maxLength + " characters";
+            this.minMessage = fieldName + " must be at least " + min;
+            this.maxMessage = fieldName + " must not exceed " + max;
+            this.numberMessage = fieldName + " must be a valid number";
+        }
+
+        void validate(Map<String, Object> stepData, List<String> errors) {
+            Object value = stepData.get(fieldId);
+            String stringValue = value != null ? value.toString().trim() : "";
+
+            // Check required fields
+            if (stringValue.isEmpty()) {
+                if (required) {
+                    errors.add(requiredMessage);
+                }
+                return;
+            }
+
+            if (!hasValidation) {
+                return;
+            }
+
+            if (pattern != null && !pattern.matcher(stringValue).matches()) {
+                errors.add(patternMessage);
+            }
+            if (minLength >= 0 && stringValue.length() < minLength) {
+                errors.add(minLengthMessage);
+            }
+            if (maxLength >= 0 && stringValue.length() > maxLength) {
+                errors.add(maxLengthMessage);
+            }
+
+            if (type == FieldType.NUMBER) {
+                try {
+                    double numValue = Double.parseDouble(stringValue);
+                    if (hasMin && numValue < min) {
+                        errors.add(minMessage);
+                    }
+                    if (hasMax && numValue > max) {
+                        errors.add(maxMessage);
+                    }
+                } catch (NumberFormatException e) {
+                    errors.add(numberMessage);
+                }
+            }
+        }
+
+        private static Pattern compilePattern(FormField field, String regex) {
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid pattern for field " + field.getFieldId() + ": " + regex, e);
+            }
+        }
+
+        private static Predicate<Map<String, Object>> compileCondition(Map<String, Object> condition) {
+            if (condition == null) {
+                return stepData -> true;
+            }
+
+            String dependsOn = (String) condition.get("dependsOn");
+            String operator = (String) condition.get("operator");
+            Object expectedValue = condition.get("value");
+
+            if (operator == null || operator.equals("==")) {
+                return stepData -> expectedValue != null && expectedValue.equals(stepData.get(dependsOn));
+            } else if (operator.equals("!=")) {
+                return stepData -> expectedValue == null || !expectedValue.equals(stepData.get(dependsOn));
+            } else if (operator.equals(">=")) {
+                double expected;
+                try {
+                    expected = Double.parseDouble(expectedValue.toString());
+                } catch (Exception e) {
+                    return stepData -> false;
+                }
+                return stepData -> {
+                    Object actualValue = stepData.get(dependsOn);
+                    if (actualValue == null) {
+                        return false;
+                    }
+                    try {
+                        return Double.parseDouble(actualValue.toString()) >= expected;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                };
+            }
+
+            return stepData -> true;
+        }
+    }
+}
@@ -8,24 +8,92 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.PostConstruct;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Registry of compiled workflow definitions, keyed by workflowId.
+ *
+ * The definition at {@code workflow.json-path} is the default workflow; every
+ * file matching {@code workflow.definitions-path} is loaded next to it, each
+ * naming the BPMN process it starts ({@code processDefinitionKey}, defaulting
+ * to the workflowId). Validation plans are shared between workflows whose
+ * steps have identical fields.
+ *
+ * With {@code workflow.hot-reload=true}, the directories of file-system
+ * definitions are watched; each changed or newly added version is parsed and
+ * compiled on the watcher thread and then published by swapping the workflow's
+ * {@link AtomicReference}. Published versions stay available by their revision
+ * id (workflowId, definition version and content hash), so applications keep
+ * the version they started on; replaced versions no application is pinned to
+ * are dropped by {@link #pruneRevisions}. Readers only do reference reads and
+ * map lookups and never block.
+ */
 @Service
 public class WorkflowDefinitionService {
     
     private static final Logger logger = LoggerFactory.getLogger(WorkflowDefinitionService.class);
     
+    // Application data keys holding the workflow and revision the application was started on
+    public static final String WORKFLOW_ID_FIELD = "workflowId";
+    public static final String REVISION_FIELD = "workflowRevision";
+    
+    private static final long RELOAD_SETTLE_MS = 200;
+    
     private final ResourceLoader resourceLoader;
     private final ObjectMapper objectMapper;
     
     @Value("${workflow.json-path}")
     private String workflowJsonPath;
     
-    private WorkflowDefinition workflowDefinition;
+    @Value("${workflow.definitions-path:}")
+    private String definitionsPath;
+    
+    @Value("${workflow.hot-reload:false}")
+    private boolean hotReload;
+    
+    @Value("${workflow.definition-cache.gzip:true}")
+    private boolean gzipDocuments;
+    
+    private final Map<String, AtomicReference<CompiledWorkflow>> workflows = new ConcurrentHashMap<>();
+    private final Map<String, CompiledWorkflow> revisions = new ConcurrentHashMap<>();
+    // Revisions that are no longer the current version of their workflow -> when they were replaced
+    private final Map<String, Long> retiredAt = new ConcurrentHashMap<>();
+    private final Map<String, WorkflowDocuments> documents = new ConcurrentHashMap<>();
+    private final Map<String, ValidationPlan> sharedPlans = new ConcurrentHashMap<>();
+    private final Set<Path> definitionFiles = ConcurrentHashMap.newKeySet();
+    private volatile String defaultWorkflowId;
+    private volatile Map<String, String> workflowIdsByProcessKey = Collections.emptyMap();
+    private volatile WatchService watchService;
     
     public WorkflowDefinitionService(ResourceLoader resourceLoader, ObjectMapper objectMapper) {
         this.resourceLoader = resourceLoader;
@@ -34,62 +102,417 @@ public class WorkflowDefinitionService {
     
     @PostConstruct
     public void loadWorkflowDefinition() {
+        Resource primary = resourceLoader.getResource(workflowJsonPath);
         try {
-            Resource resource = resourceLoader.getResource(workflowJsonPath);
-            workflowDefinition = objectMapper.readValue(resource.getInputStream(), WorkflowDefinition.class);
-            logger.info("Workflow definition loaded successfully: {}", workflowDefinition.getWorkflowName());
+            defaultWorkflowId = load(primary).getDefinition().getWorkflowId();
         } catch (IOException e) {
             logger.error("Failed to load workflow definition from: {}", workflowJsonPath, e);
             throw new RuntimeException("Failed to load workflow definition", e);
         }
+        
+        for (Resource resource : additionalDefinitions()) {
+            try {
+                load(resource);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Skipping workflow definition {}: {}", resource.getDescription(), e.getMessage());
+            }
+        }
+        logger.info("Workflow registry loaded {} workflows (default {})", workflows.size(), defaultWorkflowId);
+        
+        if (hotReload) {
+            startWatcher();
+        }
+    }
+    
+    @PreDestroy
+    public void stopWatcher() {
+        WatchService watcher = watchService;
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close workflow definition watcher: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Parse and compile {@code json} and make it the current version of its workflow.
+     * Returns the published workflow, or the existing one if the content is unchanged.
+     */
+    public synchronized CompiledWorkflow publish(byte[] json) throws IOException {
+        WorkflowDefinition workflowDefinition = objectMapper.readValue(json, WorkflowDefinition.class);
+        String workflowId = workflowDefinition.getWorkflowId();
+        if (workflowId == null || workflowId.isEmpty()) {
+            throw new IllegalArgumentException("Workflow definition has no workflowId");
+        }
+        String revision = workflowId + ":" + workflowDefinition.getVersion() + "@" + contentHash(json);
+        AtomicReference<CompiledWorkflow> current = workflows.computeIfAbsent(workflowId, id -> new AtomicReference<>());
+        
+        CompiledWorkflow existing = revisions.get(revision);
+        if (existing != null) {
+            // E.g. a file switched back to an earlier version
+            CompiledWorkflow previous = swap(current, existing);
+            if (previous != existing) {
+                logger.info("Workflow definition {} switched back to revision {} (previous {})",
+                           workflowDefinition.getWorkflowName(), revision, previous != null ? previous.getRevision() : "none");
+            }
+            return existing;
+        }
+        
+        CompiledWorkflow compiled = CompiledWorkflow.compile(workflowDefinition, revision, this::sharedPlan);
+        // Registered before the swap, so any revision a reader can see is resolvable and rendered
+        documents.put(revision, render(workflowDefinition));
+        revisions.put(revision, compiled);
+        CompiledWorkflow previous = swap(current, compiled);
+        logger.info("Workflow definition {} published: revision {} (previous {})",
+                   workflowDefinition.getWorkflowName(), revision, previous != null ? previous.getRevision() : "none");
+        return compiled;
+    }
+    
+    /**
+     * Drop replaced revisions that are not in {@code pinned} and were replaced at least
+     * {@code gracePeriodMs} ago, so an application that read a version just before it was
+     * replaced still finds it when it records its revision. Current versions are never
+     * dropped, and neither are the validation plans a remaining revision uses.
+     * Returns the number of revisions dropped.
+     */
+    public synchronized int pruneRevisions(Set<String> pinned, long gracePeriodMs) {
+        long cutoff = System.currentTimeMillis() - gracePeriodMs;
+        int pruned = 0;
+        for (Iterator<Map.Entry<String, Long>> retired = retiredAt.entrySet().iterator(); retired.hasNext(); ) {
+            Map.Entry<String, Long> revision = retired.next();
+            if (revision.getValue() <= cutoff && !pinned.contains(revision.getKey())) {
+                retired.remove();
+                revisions.remove(revision.getKey());
+                documents.remove(revision.getKey());
+                pruned++;
+            }
+        }
+        if (pruned > 0) {
+            // Plans are only shared through publish, which holds the same lock
+            Set<ValidationPlan> used = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (CompiledWorkflow workflow : revisions.values()) {
+                for (CompiledWorkflow.StepNode step : workflow.getSteps()) {
+                    used.add(step.getValidationPlan());
+                }
+                // Steps with a duplicate order are only reachable by id
+                List<WorkflowStep> steps = workflow.getDefinition().getSteps();
+                if (steps != null) {
+                    for (WorkflowStep step : steps) {
+                        CompiledWorkflow.StepNode node = workflow.getStep(step.getStepId());
+                        if (node != null) {
+                            used.add(node.getValidationPlan());
+                        }
+                    }
+                }
+            }
+            sharedPlans.values().removeIf(plan -> !used.contains(plan));
+            logger.info("Pruned {} unused workflow revisions; {} loaded, {} validation plans",
+                       pruned, revisions.size(), sharedPlans.size());
+        }
+        return pruned;
+    }
+    
+    public String getDefaultWorkflowId() {
+        return defaultWorkflowId;
+    }
+    
+    public Set<String> getWorkflowIds() {
+        return Collections.unmodifiableSet(workflows.keySet());
+    }
+    
+    /**
+     * BPMN process definition keys of all registered workflows.
+     */
+    public Set<String> getProcessDefinitionKeys() {
+        return workflowIdsByProcessKey.keySet();
+    }
+    
+    /**
+     * Current version of the workflow that starts {@code processDefinitionKey},
+     * or the default workflow if none does.
+     */
+    public CompiledWorkflow getCompiledWorkflowForProcess(String processDefinitionKey) {
+        CompiledWorkflow workflow = processDefinitionKey != null
+            ? findWorkflow(workflowIdsByProcessKey.get(processDefinitionKey)) : null;
+        return workflow != null ? workflow : getCompiledWorkflow();
+    }
+    
+    /**
+     * Current version of {@code workflowId}, or {@code null} if no such workflow is registered.
+     */
+    public CompiledWorkflow findWorkflow(String workflowId) {
+        AtomicReference<CompiledWorkflow> current = workflowId != null ? workflows.get(workflowId) : null;
+        return current != null ? current.get() : null;
+    }
+    
+    /**
+     * Pre-serialized JSON of the current version of {@code workflowId} (the default
+     * workflow when null), or {@code null} if no such workflow is registered.
+     */
+    public JsonDocument getDefinitionDocument(String workflowId) {
+        CompiledWorkflow workflow = workflowId != null ? findWorkflow(workflowId) : getCompiledWorkflow();
+        return workflow != null ? documents.get(workflow.getRevision()).definition : null;
+    }
+    
+    /**
+     * Pre-serialized JSON of a step of the default workflow, or {@code null} if there is no such step.
+     */
+    public JsonDocument getStepDocument(String stepId) {
+        return stepId != null ? documents.get(getCompiledWorkflow().getRevision()).steps.get(stepId) : null;
     }
     
     public WorkflowDefinition getWorkflowDefinition() {
-        return workflowDefinition;
+        return getCompiledWorkflow().getDefinition();
+    }
+    
+    /**
+     * The current version of the default workflow, used for new applications.
+     */
+    public CompiledWorkflow getCompiledWorkflow() {
+        return workflows.get(defaultWorkflowId).get();
+    }
+    
+    /**
+     * The version an application is pinned to, or the current version of the same
+     * workflow when {@code revision} is no longer loaded (e.g. after a restart),
+     * or the default workflow when {@code revision} is null.
+     */
+    public CompiledWorkflow getCompiledWorkflow(String revision) {
+        if (revision == null) {
+            return getCompiledWorkflow();
+        }
+        CompiledWorkflow pinned = revisions.get(revision);
+        if (pinned != null) {
+            return pinned;
+        }
+        int separator = revision.indexOf(':');
+        CompiledWorkflow current = separator > 0 ? findWorkflow(revision.substring(0, separator)) : null;
+        return current != null ? current : getCompiledWorkflow();
+    }
+    
+    /**
+     * Pre-resolved step node, or {@code null} if there is no such step.
+     * Preferred on hot paths: one lookup gives the step, its neighbours and its flags.
+     */
+    public CompiledWorkflow.StepNode getStepNode(String stepId) {
+        return getCompiledWorkflow().getStep(stepId);
+    }
+    
+    /**
+     * Step node of the version an application is pinned to.
+     */
+    public CompiledWorkflow.StepNode getStepNode(String revision, String stepId) {
+        return getCompiledWorkflow(revision).getStep(stepId);
     }
     
     public Optional<WorkflowStep> getStepById(String stepId) {
-        return workflowDefinition.getSteps().stream()
-                .filter(step -> step.getStepId().equals(stepId))
-                .findFirst();
+        return asOptional(getCompiledWorkflow().getStep(stepId));
     }
     
     public Optional<WorkflowStep> getStepByOrder(int stepOrder) {
-        return workflowDefinition.getSteps().stream()
-                .filter(step -> step.getStepOrder() == stepOrder)
-                .findFirst();
+        return asOptional(getCompiledWorkflow().getStep(stepOrder));
     }
     
     public Optional<WorkflowStep> getNextStep(String currentStepId) {
-        Optional<WorkflowStep> currentStep = getStepById(currentStepId);
-        if (currentStep.isPresent()) {
-            int nextOrder = currentStep.get().getStepOrder() + 1;
-            return getStepByOrder(nextOrder);
-        }
-        return Optional.empty();
+        CompiledWorkflow.StepNode step = getCompiledWorkflow().getStep(currentStepId);
+        return step != null ? asOptional(step.getNext()) : Optional.empty();
     }
     
     public Optional<WorkflowStep> getPreviousStep(String currentStepId) {
-        Optional<WorkflowStep> currentStep = getStepById(currentStepId);
-        if (currentStep.isPresent()) {
-            int prevOrder = currentStep.get().getStepOrder() - 1;
-            if (prevOrder > 0) {
-                return getStepByOrder(prevOrder);
+        CompiledWorkflow.StepNode step = getCompiledWorkflow().getStep(currentStepId);
+        return step != null ? asOptional(step.getPrevious()) : Optional.empty();
+    }
+    
+    public boolean isLastStep(String stepId) {
+        CompiledWorkflow.StepNode step = getCompiledWorkflow().getStep(stepId);
+        return step != null && step.isLast();
+    }
+    
+    public boolean isFirstStep(String stepId) {
+        CompiledWorkflow.StepNode step = getCompiledWorkflow().getStep(stepId);
+        return step != null && step.isFirst();
+    }
+    
+    private CompiledWorkflow load(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            CompiledWorkflow compiled = publish(in.readAllBytes());
+            if (resource.isFile()) {
+                definitionFiles.add(resource.getFile().toPath().toAbsolutePath().normalize());
             }
+            return compiled;
         }
-        return Optional.empty();
     }
     
-    public boolean isLastStep(String stepId) {
-        Optional<WorkflowStep> step = getStepById(stepId);
-        if (step.isPresent()) {
-            return step.get().getStepOrder() == workflowDefinition.getSteps().size();
+    private List<Resource> additionalDefinitions() {
+        if (definitionsPath == null || definitionsPath.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            List<Resource> resources = new ArrayList<>();
+            for (Resource resource : ResourcePatternUtils.getResourcePatternResolver(resourceLoader).getResources(definitionsPath)) {
+                if (resource.exists()) {
+                    resources.add(resource);
+                }
+            }
+            return resources;
+        } catch (IOException e) {
+            logger.warn("Failed to list workflow definitions at {}: {}", definitionsPath, e.getMessage());
+            return Collections.emptyList();
         }
-        return false;
     }
     
-    public boolean isFirstStep(String stepId) {
-        Optional<WorkflowStep> step = getStepById(stepId);
-        return step.isPresent() && step.get().getStepOrder() == 1;
+    private WorkflowDocuments render(WorkflowDefinition workflowDefinition) throws IOException {
+        Map<String, JsonDocument> steps = new HashMap<>();
+        if (workflowDefinition.getSteps() != null) {
+            for (WorkflowStep step : workflowDefinition.getSteps()) {
+                if (!steps.containsKey(step.getStepId())) {
+                    steps.put(step.getStepId(), JsonDocument.of(objectMapper.writeValueAsBytes(step), gzipDocuments));
+                }
+            }
+        }
+        return new WorkflowDocuments(
+            JsonDocument.of(objectMapper.writeValueAsBytes(workflowDefinition), gzipDocuments), steps);
+    }
+    
+    // Identical steps (same fields and conditional fields) in different workflows share one plan
+    private ValidationPlan sharedPlan(WorkflowStep step) {
+        try {
+            String key = objectMapper.writeValueAsString(Arrays.asList(step.getFields(), step.getConditionalFields()));
+            return sharedPlans.computeIfAbsent(key, k -> ValidationPlan.compile(step));
+        } catch (IOException e) {
+            return ValidationPlan.compile(step);
+        }
+    }
+    
+    // Makes next the current version; keeps the process key map and retired revisions in step
+    private CompiledWorkflow swap(AtomicReference<CompiledWorkflow> current, CompiledWorkflow next) {
+        CompiledWorkflow previous = current.getAndSet(next);
+        retiredAt.remove(next.getRevision());
+        if (previous != null && previous != next) {
+            retiredAt.put(previous.getRevision(), System.currentTimeMillis());
+        }
+        refreshProcessDefinitionKeys();
+        return previous;
+    }
+    
+    private void refreshProcessDefinitionKeys() {
+        Map<String, String> keys = new HashMap<>();
+        for (AtomicReference<CompiledWorkflow> workflow : workflows.values()) {
+            CompiledWorkflow compiled = workflow.get();
+            if (compiled != null) {
+                keys.put(compiled.getDefinition().getProcessDefinitionKey(), compiled.getDefinition().getWorkflowId());
+            }
+        }
+        workflowIdsByProcessKey = Collections.unmodifiableMap(keys);
+    }
+    
+    private void startWatcher() {
+        if (definitionFiles.isEmpty()) {
+            logger.warn("Hot reload needs file-system workflow definitions, not {}; watching disabled", workflowJsonPath);
+            return;
+        }
+        
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Set<Path> directories = new HashSet<>();
+            for (Path file : definitionFiles) {
+                if (directories.add(file.getParent())) {
+                    file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to watch workflow definition directories: {}", e.getMessage());
+            return;
+        }
+        
+        Thread watcher = new Thread(this::watch, "workflow-definition-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for workflow definition changes", definitionFiles);
+    }
+    
+    private void watch() {
+        WatchService watcher = watchService;
+        while (true) {
+            WatchKey key;
+            try {
+                key = watcher.take();
+                // Editors often write in several steps; let them finish before reading
+                Thread.sleep(RELOAD_SETTLE_MS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            
+            Path directory = (Path) key.watchable();
+            Set<Path> changed = new HashSet<>();
+            boolean created = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.context() instanceof Path) {
+                    Path file = directory.resolve((Path) event.context());
+                    if (definitionFiles.contains(file)) {
+                        changed.add(file);
+                    } else if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        created = true;
+                    }
+                }
+            }
+            key.reset();
+            if (created) {
+                changed.addAll(newDefinitionFiles());
+            }
+            
+            for (Path file : changed) {
+                try {
+                    publish(Files.readAllBytes(file));
+                } catch (IOException | RuntimeException e) {
+                    // Keep serving the current version until the file is fixed
+                    logger.error("Rejected workflow definition change in {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+    
+    // Files matched by workflow.definitions-path that are not registered yet; registered
+    // here even if they fail to load, so the next save of a fixed file is picked up
+    private Set<Path> newDefinitionFiles() {
+        Set<Path> added = new HashSet<>();
+        for (Resource resource : additionalDefinitions()) {
+            try {
+                if (resource.isFile()) {
+                    Path file = resource.getFile().toPath().toAbsolutePath().normalize();
+                    if (definitionFiles.add(file)) {
+                        added.add(file);
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("Skipping workflow definition {}: {}", resource.getDescription(), e.getMessage());
+            }
+        }
+        return added;
+    }
+    
+    private static String contentHash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static Optional<WorkflowStep> asOptional(CompiledWorkflow.StepNode step) {
+        return step != null ? step.asOptional() : Optional.empty();
+    }
+    
+    private static final class WorkflowDocuments {
+        private final JsonDocument definition;
+        private final Map<String, JsonDocument> steps;
+        
+        WorkflowDocuments(JsonDocument definition, Map<String, JsonDocument> steps) {
+            this.definition = definition;
+            this.steps = steps;
+        }
     }
-}
\ No newline at end of file
+}
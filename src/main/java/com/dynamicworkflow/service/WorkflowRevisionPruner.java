@@ -0,0 +1,64 @@
+package com.dynamicworkflow.service;
+
+import com.dynamicworkflow.model.ApplicationSnapshot;
+import com.dynamicworkflow.repository.ApplicationChangedEvent;
+import com.dynamicworkflow.repository.ApplicationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps hot reload from accumulating workflow revisions: tracks which revisions
+ * applications are pinned to and periodically drops replaced revisions that
+ * none is.
+ *
+ * Applications only ever gain a revision, so the pinned set is loaded once from
+ * the store and then kept current from {@link ApplicationChangedEvent}s.
+ */
+@Component
+@ConditionalOnProperty(name = "workflow.hot-reload", havingValue = "true")
+public class WorkflowRevisionPruner {
+
+    private final ApplicationRepository applicationRepository;
+    private final WorkflowDefinitionService workflowDefinitionService;
+    private final long pruneIntervalMs;
+
+    private final Set<String> pinnedRevisions = ConcurrentHashMap.newKeySet();
+
+    public WorkflowRevisionPruner(ApplicationRepository applicationRepository,
+                                  WorkflowDefinitionService workflowDefinitionService,
+                                  @Value("${workflow.revision-prune-ms:600000}") long pruneIntervalMs) {
+        this.applicationRepository = applicationRepository;
+        this.workflowDefinitionService = workflowDefinitionService;
+        this.pruneIntervalMs = pruneIntervalMs;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        applicationRepository.forEach(this::pin);
+    }
+
+    @EventListener
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        pin(event.getCurrent());
+    }
+
+    // A revision must have been replaced for a whole interval before it is dropped
+    @Scheduled(fixedDelayString = "${workflow.revision-prune-ms:600000}")
+    public void prune() {
+        workflowDefinitionService.pruneRevisions(pinnedRevisions, pruneIntervalMs);
+    }
+
+    private void pin(ApplicationSnapshot application) {
+        Object revision = application.getData().get(WorkflowDefinitionService.REVISION_FIELD);
+        if (revision instanceof String) {
+            pinnedRevisions.add((String) revision);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+// Live dashboard updates over server-sent events (replaces periodic polling).
+//
+// onApplication(applicationId, applicationData) is called for every change pushed
+// for the candidate group; onResync() is called after a reconnect, when events may
+// have been missed and the dashboard should reload once.
+function subscribeDashboardEvents(group, onApplication, onResync) {
+    if (!window.EventSource) {
+        // Very old browsers: fall back to the previous polling behaviour
+        setInterval(onResync, 10000);
+        return null;
+    }
+
+    const source = new EventSource(`/api/dashboard-events?group=${encodeURIComponent(group)}`);
+    let connectedBefore = false;
+
+    source.addEventListener('ready', () => {
+        if (connectedBefore) {
+            onResync();
+        }
+        connectedBefore = true;
+    });
+
+    source.addEventListener('application', (event) => {
+        const change = JSON.parse(event.data);
+        onApplication(change.applicationId, change.application);
+    });
+
+    source.onerror = () => {
+        console.warn('Dashboard event stream interrupted, reconnecting...');
+    };
+
+    return source;
+}
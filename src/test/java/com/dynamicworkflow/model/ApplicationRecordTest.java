@@ -0,0 +1,148 @@
+package com.dynamicworkflow.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationRecordTest {
+
+    private static final RecordLayout LAYOUT = new RecordLayout(List.of(
+        RecordLayout.number("salary"),
+        RecordLayout.date("startDate"),
+        RecordLayout.timestamp("submittedAt"),
+        RecordLayout.option("position", List.of("Developer", "Designer")),
+        RecordLayout.value("name")));
+
+    @Test
+    void numbersReadBackAsTheTypeTheyWereGivenIn() {
+        assertNumber(42, Integer.class);
+        assertNumber(Integer.MIN_VALUE, Integer.class);
+        assertNumber(5_000_000_000L, Long.class);
+        assertNumber(42L, Long.class);
+        assertNumber(12.5, Double.class);
+        assertNumber(-0.0, Double.class);
+        assertNumber(Double.NaN, Double.class);
+    }
+
+    @Test
+    void plainIntegerStringsAreStoredInTheSlot() {
+        ApplicationRecord record = record("salary", "50000");
+
+        assertEquals("50000", record.get("salary"));
+        assertEquals("-7", record("salary", "-7").get("salary"));
+        assertTrue(record.containsKey("salary"));
+        assertEquals(1, record.size());
+    }
+
+    @Test
+    void stringsThatWouldNotFormatBackIdenticallyAreKeptAsGiven() {
+        for (String text : Arrays.asList("12.50", "012", "1e3", "+5", " 12", "", "twelve")) {
+            ApplicationRecord record = record("salary", text);
+
+            assertEquals(text, record.get("salary"), text);
+            assertInstanceOf(String.class, record.get("salary"), text);
+            assertEquals(Map.of("salary", text), new HashMap<>(record), text);
+        }
+    }
+
+    @Test
+    void dateSlotsReadBackAsIsoDates() {
+        assertEquals("2024-03-01", record("startDate", "2024-03-01").get("startDate"));
+        assertEquals("2024-03-01", record("startDate", LocalDate.of(2024, 3, 1)).get("startDate"));
+        // Not a date: kept as given
+        assertEquals("next month", record("startDate", "next month").get("startDate"));
+    }
+
+    @Test
+    void timestampSlotsReadBackAsIsoDateTimes() {
+        LocalDateTime submitted = LocalDateTime.of(2024, 3, 1, 9, 30, 15);
+        long epochMillis = submitted.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertEquals(submitted.toString(), record("submittedAt", submitted.toString()).get("submittedAt"));
+        assertEquals(submitted.toString(), record("submittedAt", submitted).get("submittedAt"));
+        assertEquals(submitted.toString(), record("submittedAt", epochMillis).get("submittedAt"));
+        assertEquals("yesterday", record("submittedAt", "yesterday").get("submittedAt"));
+    }
+
+    @Test
+    void keysWithoutASlotGoToTheOverflowMap() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("salary", 42);
+        data.put("position", "Developer");
+        data.put("comments", "Strong portfolio");
+        data.put("skills", List.of("java", "sql"));
+
+        ApplicationRecord record = ApplicationRecord.of(LAYOUT, data);
+
+        assertEquals(data, record);
+        assertEquals(4, record.size());
+        assertEquals(data.keySet(), record.keySet());
+        assertSame(record, record.with(Map.of()));
+    }
+
+    @Test
+    void valueMovesBetweenSlotAndOverflowOnUpdate() {
+        ApplicationRecord record = record("salary", "012");
+
+        ApplicationRecord numeric = record.with(Map.of("salary", 12));
+        assertEquals(12, numeric.get("salary"));
+        assertEquals(1, numeric.size());
+
+        ApplicationRecord text = numeric.with(Map.of("salary", "12.50"));
+        assertEquals("12.50", text.get("salary"));
+        assertEquals(1, text.size());
+        // The original is left untouched
+        assertEquals(12, numeric.get("salary"));
+    }
+
+    @Test
+    void nullIsStoredRatherThanRemoved() {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("salary", null);
+        changes.put("name", null);
+
+        ApplicationRecord record = record("salary", 42).with(changes);
+
+        assertTrue(record.containsKey("salary"));
+        assertTrue(record.containsKey("name"));
+        assertNull(record.get("salary"));
+        assertNull(record.get("name"));
+        assertFalse(record.containsKey("startDate"));
+        assertEquals(2, record.size());
+    }
+
+    @Test
+    void optionValuesAreTheSchemaInstance() {
+        String position = new String("Developer");
+
+        Object stored = record("position", position).get("position");
+
+        assertEquals("Developer", stored);
+        assertSame(LAYOUT.getSlot("position").canonicalize("Developer"), stored);
+    }
+
+    private static void assertNumber(Object value, Class<?> type) {
+        Object read = record("salary", value).get("salary");
+        assertEquals(value, read);
+        assertInstanceOf(type, read);
+    }
+
+    private static ApplicationRecord record(String key, Object value) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(key, value);
+        return ApplicationRecord.of(LAYOUT, data);
+    }
+}
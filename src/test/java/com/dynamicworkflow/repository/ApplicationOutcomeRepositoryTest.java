@@ -0,0 +1,80 @@
+package com.dynamicworkflow.repository;
+
+import com.dynamicworkflow.repository.ApplicationOutcomeRepository.ApplicationOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApplicationOutcomeRepositoryTest {
+
+    private ApplicationOutcomeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:outcomes-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        repository = new ApplicationOutcomeRepository(new JdbcTemplate(dataSource), new ObjectMapper());
+        repository.initialize();
+    }
+
+    @Test
+    void concurrentDecisionsForOneApplicationAreAllKept() throws Exception {
+        int applications = 50;
+        ExecutorService reviewers = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < applications; i++) {
+                String applicationId = "APP-" + i;
+                CountDownLatch start = new CountDownLatch(1);
+                // Team lead and project manager review in parallel and decide at the same moment
+                Future<?> teamLead = reviewers.submit(() -> {
+                    start.await();
+                    repository.recordDecisions(applicationId, "pi-" + applicationId, Map.of("tlDecision", "accept"));
+                    return null;
+                });
+                Future<?> projectManager = reviewers.submit(() -> {
+                    start.await();
+                    repository.recordDecisions(applicationId, "pi-" + applicationId, Map.of("pmDecision", "reject"));
+                    return null;
+                });
+                start.countDown();
+                teamLead.get(10, TimeUnit.SECONDS);
+                projectManager.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            reviewers.shutdownNow();
+        }
+
+        Map<String, ApplicationOutcome> outcomes = repository.findAll().stream()
+            .collect(Collectors.toMap(ApplicationOutcome::getApplicationId, Function.identity()));
+        assertEquals(applications, outcomes.size());
+        for (int i = 0; i < applications; i++) {
+            ApplicationOutcome outcome = outcomes.get("APP-" + i);
+            assertEquals("pi-APP-" + i, outcome.getProcessInstanceId());
+            assertEquals(Map.of("tlDecision", "accept", "pmDecision", "reject"), outcome.getDecisions());
+        }
+    }
+
+    @Test
+    void laterDecisionReplacesTheSameName() {
+        repository.recordDecisions("APP-1", "pi-1", Map.of("hrDecision", "accept"));
+        repository.recordDecisions("APP-1", "pi-1", Map.of("hrDecision", "reject", "hrComments", "Position filled"));
+
+        ApplicationOutcome outcome = repository.findAll().get(0);
+
+        assertEquals(Map.of("hrDecision", "reject", "hrComments", "Position filled"), outcome.getDecisions());
+    }
+}